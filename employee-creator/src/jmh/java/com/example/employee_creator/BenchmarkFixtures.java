@@ -0,0 +1,79 @@
+package com.example.employee_creator;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import com.example.employee_creator.contract.entities.Contract;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.entities.Employee;
+import com.github.javafaker.Faker;
+
+/**
+ * Seeded entity graphs shaped like the dev seed data, so benchmark inputs are
+ * identical across runs and commits.
+ */
+public final class BenchmarkFixtures {
+    public static final long SEED = 42L;
+
+    private static final String[] DEPARTMENTS = { "Engineering", "Sales", "HR" };
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Faker faker() {
+        return new Faker(new Locale("en-AU"), new Random(SEED));
+    }
+
+    public static List<Department> departments() {
+        List<Department> depts = new ArrayList<>();
+        for (int i = 0; i < DEPARTMENTS.length; i++) {
+            Department dept = new Department();
+            dept.setId((long) i + 1);
+            dept.setName(DEPARTMENTS[i]);
+            dept.setDescription(DEPARTMENTS[i] + " Department");
+            depts.add(dept);
+        }
+        return depts;
+    }
+
+    public static List<Employee> employees(int count) {
+        Faker faker = faker();
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee e = new Employee();
+            e.setId((long) i + 1);
+            e.setFirstName(faker.name().firstName());
+            e.setLastName(faker.name().lastName());
+            e.setEmail(e.getFirstName().toLowerCase() + "." + e.getLastName().toLowerCase() + "@example.com");
+            e.setDateOfBirth(LocalDate.of(1960, 1, 1).plusDays(faker.number().numberBetween(0, 15_000)));
+            employees.add(e);
+        }
+        return employees;
+    }
+
+    // one employee with a long career spread across departments, oldest contract first
+    public static List<Contract> career(int length) {
+        Faker faker = faker();
+        List<Department> depts = departments();
+        Employee employee = employees(1).get(0);
+        LocalDate start = LocalDate.of(1990, 1, 1);
+
+        List<Contract> contracts = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            Contract c = new Contract();
+            c.setId((long) i + 1);
+            c.setEmployee(employee);
+            c.setDepartment(depts.get(faker.number().numberBetween(0, depts.size())));
+            c.setJobTitle(faker.job().title());
+            c.setSalary(40_000f + faker.number().numberBetween(0, 160_000));
+            c.setStartDate(start.plusMonths(i));
+            c.setEndDate(i < length - 1 ? start.plusMonths(i + 1).minusDays(1) : null);
+            c.setActive(i == length - 1);
+            contracts.add(c);
+        }
+        return contracts;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.employee_creator.common;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.employee_creator.BenchmarkFixtures;
+import com.example.employee_creator.common.dtos.PageResponse;
+import com.example.employee_creator.employee.EmployeeSpecifications;
+import com.example.employee_creator.employee.dtos.EmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Assembling and serializing one page of {@code GET /employees}, the work done
+ * after the query returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageResponseBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int pageSize;
+
+    private final PageResponseAssembler assembler = new PageResponseAssembler();
+    // same defaults Spring Boot applies to the MVC ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Page<Employee> page;
+    private List<Employee> cursorRows;
+    private PageResponse<EmployeeDto> response;
+
+    @Setup
+    public void setUp() {
+        List<Employee> employees = BenchmarkFixtures.employees(this.pageSize + 1);
+        this.page = new PageImpl<>(employees.subList(0, this.pageSize), PageRequest.of(3, this.pageSize), 1_000_000);
+        this.cursorRows = employees;
+        this.response = this.assembler.toPageResponse(this.page, EmployeeDto::fromEntity);
+    }
+
+    @Benchmark
+    public PageResponse<EmployeeDto> assemblePage() {
+        return this.assembler.toPageResponse(this.page, EmployeeDto::fromEntity);
+    }
+
+    @Benchmark
+    public PageResponse<EmployeeDto> assembleCursorPage() {
+        return this.assembler.toCursorPageResponse(this.cursorRows, this.pageSize, EmployeeSpecifications::cursorOf,
+                1_000_000L, EmployeeDto::fromEntity);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.response);
+    }
+
+    @Benchmark
+    public byte[] assembleAndSerializePage() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.assembler.toPageResponse(this.page, EmployeeDto::fromEntity));
+    }
+}
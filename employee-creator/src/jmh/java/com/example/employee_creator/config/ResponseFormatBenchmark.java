@@ -0,0 +1,137 @@
+package com.example.employee_creator.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.example.employee_creator.BenchmarkFixtures;
+import com.example.employee_creator.common.PageResponseAssembler;
+import com.example.employee_creator.common.dtos.PageResponse;
+import com.example.employee_creator.contract.dtos.ContractDto;
+import com.example.employee_creator.employee.dtos.EmployeeDto;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Encoding a page of {@code GET /employees} and a contract history through the
+ * converter each {@code Accept} header selects. The score is encode time; the
+ * payload size for each combination, and how it compares with JSON, is printed
+ * during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+    private static final Type EMPLOYEE_PAGE = new ParameterizedTypeReference<PageResponse<EmployeeDto>>() {
+    }.getType();
+    private static final Type CONTRACTS = new ParameterizedTypeReference<List<ContractDto>>() {
+    }.getType();
+
+    @Param({ "json", "cbor", "smile", "protobuf" })
+    public String format;
+
+    @Param({ "page", "contracts" })
+    public String payload;
+
+    @Param({ "100", "1000" })
+    public int size;
+
+    private GenericHttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private Object body;
+    private Type type;
+    private final Buffer out = new Buffer();
+
+    @Setup
+    public void setUp() throws IOException {
+        if (this.payload.equals("page")) {
+            List<EmployeeDto> rows = BenchmarkFixtures.employees(this.size).stream().map(EmployeeDto::fromEntity)
+                    .toList();
+            this.body = new PageResponseAssembler().toPageResponse(
+                    new PageImpl<>(rows, PageRequest.of(3, this.size), 1_000_000), Function.identity());
+            this.type = EMPLOYEE_PAGE;
+        } else {
+            this.body = BenchmarkFixtures.career(this.size).stream().map(ContractDto::fromEntity).toList();
+            this.type = CONTRACTS;
+        }
+        this.converter = converter(this.format);
+        this.mediaType = this.converter.getSupportedMediaTypes().get(0);
+
+        int bytes = encode().length;
+        this.converter = converter("json");
+        int jsonBytes = encode().length;
+        this.converter = converter(this.format);
+        System.out.printf("%n%s %s of %d: %,d bytes, %.0f%% of JSON%n", this.format, this.payload, this.size, bytes,
+                100.0 * bytes / jsonBytes);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        this.out.reset();
+        this.converter.write(this.body, this.type, this.mediaType, this.out);
+        return this.out.toByteArray();
+    }
+
+    // built the way WebConfig builds them, from Spring Boot's mapper settings
+    private static GenericHttpMessageConverter<Object> converter(String format) {
+        WebConfig config = new WebConfig();
+        return switch (format) {
+            case "json" -> new MappingJackson2HttpMessageConverter(builder().build());
+            case "cbor" -> config.cborHttpMessageConverter(builder());
+            case "smile" -> config.smileHttpMessageConverter(builder());
+            case "protobuf" -> new ProtobufDtoHttpMessageConverter();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.headers;
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            this.headers.clear();
+        }
+    }
+}
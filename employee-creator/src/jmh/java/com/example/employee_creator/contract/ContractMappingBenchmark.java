@@ -0,0 +1,48 @@
+package com.example.employee_creator.contract;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.employee_creator.BenchmarkFixtures;
+import com.example.employee_creator.contract.dtos.ContractDto;
+import com.example.employee_creator.contract.entities.Contract;
+
+/**
+ * Entity to DTO mapping for a contract history, as done by
+ * {@code GET /employees/{id}/contracts}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContractMappingBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int careerLength;
+
+    private List<Contract> contracts;
+
+    @Setup
+    public void setUp() {
+        this.contracts = BenchmarkFixtures.career(this.careerLength);
+    }
+
+    @Benchmark
+    public List<ContractDto> mapHistory() {
+        return this.contracts.stream().map(ContractDto::fromEntity).toList();
+    }
+}
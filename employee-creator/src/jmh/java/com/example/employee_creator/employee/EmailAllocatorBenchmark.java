@@ -0,0 +1,107 @@
+package com.example.employee_creator.employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.employee_creator.BenchmarkFixtures;
+import com.example.employee_creator.EmployeeCreatorApplication;
+import com.example.employee_creator.employee.entities.Employee;
+
+/**
+ * Email allocation for names that already have {@code namesakes} addresses in
+ * the in-memory database. {@code seed} is the first allocation for a name,
+ * which looks up the highest suffix in use; {@code allocate} is every one
+ * after it, served from the counter that lookup started.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailAllocatorBenchmark {
+    private static final int NAMES = 8;
+    private static final long FIRST_ID = 10_000_000L;
+
+    @Param({ "1", "1000", "100000" })
+    public int namesakes;
+
+    private ConfigurableApplicationContext context;
+    private EmailAllocator allocator;
+    private List<Employee> names;
+
+    @Setup
+    public void setUp() {
+        this.context = new SpringApplicationBuilder(EmployeeCreatorApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.properties.hibernate.generate_statistics=false", "--logging.level.root=WARN");
+        this.allocator = this.context.getBean(EmailAllocator.class);
+        this.names = BenchmarkFixtures.employees(NAMES);
+
+        JdbcTemplate jdbc = this.context.getBean(JdbcTemplate.class);
+        List<Object[]> rows = new ArrayList<>();
+        long id = FIRST_ID;
+        for (Employee e : this.names) {
+            String base = EmailAllocator.baseOf(e.getFirstName(), e.getLastName());
+            for (int suffix = 1; suffix <= this.namesakes; suffix++) {
+                rows.add(new Object[] { id++, e.getFirstName(), e.getLastName(),
+                        EmailAllocator.emailOf(base, suffix) });
+            }
+        }
+        jdbc.batchUpdate("insert into employees (id, first_name, last_name, email) values (?, ?, ?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public String seed(NameCursor cursor) {
+        Employee e = next(cursor);
+        this.allocator.reseed(e.getFirstName(), e.getLastName());
+        return this.allocator.allocate(e.getFirstName(), e.getLastName());
+    }
+
+    @Benchmark
+    public String allocate(NameCursor cursor) {
+        Employee e = next(cursor);
+        return this.allocator.allocate(e.getFirstName(), e.getLastName());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String allocateContended(NameCursor cursor) {
+        Employee e = next(cursor);
+        return this.allocator.allocate(e.getFirstName(), e.getLastName());
+    }
+
+    private Employee next(NameCursor cursor) {
+        return this.names.get(cursor.next++ % NAMES);
+    }
+
+    @State(Scope.Thread)
+    public static class NameCursor {
+        int next;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.employee_creator.employee;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.employee_creator.EmployeeCreatorApplication;
+import com.example.employee_creator.contract.ContractRepository;
+import com.example.employee_creator.contract.dtos.ContractDto;
+import com.example.employee_creator.employee.dtos.EmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * The read behind one page of {@code GET /employees} and one contract history,
+ * as full entities mapped afterwards ({@code entity*}) and as DTO projections
+ * ({@code projected*}), against seeded in-memory data. Latency is the score;
+ * for allocation per call add the GC profiler, e.g.
+ * {@code -Djmh.args="EmployeeListRead -prof gc"} and compare
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeListReadBenchmark {
+    private static final int EMPLOYEES = 5_000;
+
+    @Param({ "100", "1000" })
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employees;
+    private ContractRepository contracts;
+    private EntityManager em;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private Long employeeId;
+
+    @Setup
+    public void setUp() {
+        this.context = new SpringApplicationBuilder(EmployeeCreatorApplication.class)
+                .profiles("test", "dev")
+                .web(WebApplicationType.NONE)
+                // as arguments, builder properties would lose to application.properties
+                .run("--app.seeder.employees=" + EMPLOYEES, "--app.seeder.as-of=2025-01-01",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false", "--logging.level.root=WARN");
+        this.employees = this.context.getBean(EmployeeRepository.class);
+        this.contracts = this.context.getBean(ContractRepository.class);
+        this.em = this.context.getBean(EntityManager.class);
+        PlatformTransactionManager txManager = this.context.getBean(PlatformTransactionManager.class);
+        this.readWrite = new TransactionTemplate(txManager);
+        this.readOnly = new TransactionTemplate(txManager);
+        this.readOnly.setReadOnly(true);
+        // the longest career, so the history comparison isn't a handful of rows
+        this.employeeId = this.em.createQuery(
+                "select c.employee.id from Contract c group by c.employee.id order by count(c) desc", Long.class)
+                .setMaxResults(1)
+                .getSingleResult();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeDto> entityPage() {
+        return this.readWrite.execute(status -> this.employees
+                .findAll(Specification.unrestricted(), PageRequest.of(1, this.pageSize))
+                .map(EmployeeDto::fromEntity)
+                .getContent());
+    }
+
+    @Benchmark
+    public List<EmployeeDto> projectedPage() {
+        return this.readOnly.execute(status -> this.employees
+                .findBy(Specification.<Employee>unrestricted(),
+                        q -> q.as(EmployeeDto.class).page(PageRequest.of(1, this.pageSize)))
+                .getContent());
+    }
+
+    @Benchmark
+    public List<ContractDto> entityHistory() {
+        return this.readWrite.execute(status -> this.em.createQuery("""
+                select distinct e from Employee e
+                left join fetch e.contracts c
+                left join fetch c.department
+                where e.id = :id
+                """, Employee.class)
+                .setParameter("id", this.employeeId)
+                .getSingleResult()
+                .getContracts().stream().map(ContractDto::fromEntity).toList());
+    }
+
+    @Benchmark
+    public List<ContractDto> projectedHistory() {
+        return this.readOnly.execute(status -> this.contracts.findHistoryByEmployeeId(this.employeeId));
+    }
+}
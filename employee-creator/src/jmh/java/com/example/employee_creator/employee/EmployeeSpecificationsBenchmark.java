@@ -0,0 +1,100 @@
+package com.example.employee_creator.employee;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.employee_creator.EmployeeCreatorApplication;
+import com.example.employee_creator.common.Cursor;
+import com.example.employee_creator.employee.entities.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria construction for the {@code GET /employees} filters. Nothing is
+ * executed: the context only provides Hibernate's metamodel and builder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSpecificationsBenchmark {
+
+    private static final Cursor CURSOR = new Cursor("Nguyen", 123_456L);
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private CriteriaBuilder cb;
+
+    @Setup
+    public void setUp() {
+        this.context = new SpringApplicationBuilder(EmployeeCreatorApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .properties("app.name-index.enabled=false", "logging.level.root=WARN")
+                .run();
+        this.em = this.context.getBean(EntityManagerFactory.class).createEntityManager();
+        this.cb = this.em.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.em.close();
+        this.context.close();
+    }
+
+    @Benchmark
+    public Predicate singleTermName() {
+        return toPredicate(EmployeeSpecifications.fullNameContains("smith"));
+    }
+
+    @Benchmark
+    public Predicate fullName() {
+        return toPredicate(EmployeeSpecifications.fullNameContains("jane smith"));
+    }
+
+    @Benchmark
+    public Predicate department() {
+        return toPredicate(EmployeeSpecifications.departmentIdEquals(1L));
+    }
+
+    @Benchmark
+    public Predicate jobTitle() {
+        return toPredicate(EmployeeSpecifications.jobTitleSearch("developer"));
+    }
+
+    @Benchmark
+    public Predicate combinedWithCursor() {
+        return toPredicate(Specification.allOf(
+                EmployeeSpecifications.departmentIdEquals(1L),
+                EmployeeSpecifications.fullNameContains("smith"),
+                EmployeeSpecifications.after(CURSOR)));
+    }
+
+    private Predicate toPredicate(Specification<Employee> spec) {
+        CriteriaQuery<Employee> query = this.cb.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+        return spec.toPredicate(root, query, this.cb);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.employee_creator.analytics;
+
+import java.util.List;
+
+import org.apache.coyote.BadRequestException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.employee_creator.analytics.dtos.PromotionDto;
+import com.example.employee_creator.analytics.dtos.PromotionGapDto;
+import com.example.employee_creator.analytics.dtos.PromotionIntervalDto;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/analytics")
+@Tag(name = "Analytics", description = "Pre-computed workforce analytics")
+public class AnalyticsController {
+    private static final int MAX_LIMIT = 1_000;
+
+    private final PromotionService promotionService;
+
+    public AnalyticsController(PromotionService promotionService) {
+        this.promotionService = promotionService;
+    }
+
+    @GetMapping("/promotions/recent")
+    public ResponseEntity<List<PromotionDto>> getRecentPromotions(@RequestParam(defaultValue = "5") int limit)
+            throws BadRequestException {
+        return ResponseEntity.ok(this.promotionService.findRecent(checkLimit(limit)));
+    }
+
+    @GetMapping("/promotions/gaps")
+    public ResponseEntity<List<PromotionGapDto>> getPromotionGaps(@RequestParam(defaultValue = "10") int limit)
+            throws BadRequestException {
+        return ResponseEntity.ok(this.promotionService.findLongestGaps(checkLimit(limit)));
+    }
+
+    @GetMapping("/promotions/average-interval")
+    public ResponseEntity<PromotionIntervalDto> getAveragePromotionInterval() {
+        return ResponseEntity.ok(this.promotionService.getAverageInterval());
+    }
+
+    private static int checkLimit(int limit) throws BadRequestException {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.employee_creator.analytics;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.employee_creator.analytics.dtos.CareerRowDto;
+import com.example.employee_creator.analytics.dtos.PromotionDto;
+import com.example.employee_creator.analytics.entities.PromotionEvent;
+
+public interface PromotionEventRepository extends JpaRepository<PromotionEvent, Long> {
+
+    List<PromotionEvent> findByEmployeeId(Long employeeId);
+
+    // limited before the join, so the newest rows come straight off idx_promotion_events_date
+    // whichever table the optimizer would otherwise start from
+    @Query("""
+            select new com.example.employee_creator.analytics.dtos.PromotionDto(
+                e.id, e.firstName, e.lastName, p.promotionDate, p.previousSalary, p.salary)
+            from (select r.employeeId employeeId, r.contractId contractId, r.promotionDate promotionDate,
+                         r.previousSalary previousSalary, r.salary salary
+                  from PromotionEvent r
+                  order by r.promotionDate desc, r.contractId desc
+                  limit :limit) p
+            join Employee e on e.id = p.employeeId
+            order by p.promotionDate desc, p.contractId desc
+            """)
+    List<PromotionDto> findRecent(int limit);
+
+    @Query("select distinct c.employee.id from Contract c where c.employee.id > :afterId order by c.employee.id")
+    List<Long> findEmployeeIdsWithContractsAfter(Long afterId, Limit limit);
+
+    @Query("""
+            select new com.example.employee_creator.analytics.dtos.CareerRowDto(
+                c.employee.id, c.id, c.salary, c.startDate)
+            from Contract c
+            where c.employee.id in :employeeIds
+            order by c.employee.id, c.startDate, c.id
+            """)
+    List<CareerRowDto> findCareerRows(Collection<Long> employeeIds);
+}
@@ -0,0 +1,275 @@
+package com.example.employee_creator.analytics;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.employee_creator.analytics.dtos.CareerRowDto;
+import com.example.employee_creator.analytics.dtos.PromotionDto;
+import com.example.employee_creator.analytics.dtos.PromotionGapDto;
+import com.example.employee_creator.analytics.dtos.PromotionIntervalDto;
+import com.example.employee_creator.analytics.entities.PromotionEvent;
+import com.example.employee_creator.analytics.entities.PromotionStatus;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Maintains promotion events and each employee's last promotion date as
+ * contracts change, so promotion analytics are index lookups instead of window
+ * functions over the whole contract history. A promotion is a contract paying
+ * more than the previous one, ordered by start date.
+ *
+ * Writers call {@link #refresh} with the employee's full career inside their own
+ * transaction; only that employee's rows are touched. The average interval
+ * comes from running totals in {@code promotion_totals}, moved in the same
+ * transaction. Nothing is kept in memory, so every instance answers from the
+ * same committed rows.
+ */
+@Service
+public class PromotionService implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(PromotionService.class);
+    private static final int REBUILD_CHUNK = 1_000;
+    // as many as V4__promotion_totals created
+    private static final int TOTALS_SLOTS = 16;
+
+    private final PromotionEventRepository eventRepo;
+    private final PromotionStatusRepository statusRepo;
+    private final PromotionTotalsRepository totalsRepo;
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+
+    public PromotionService(PromotionEventRepository eventRepo, PromotionStatusRepository statusRepo,
+            PromotionTotalsRepository totalsRepo, EntityManager em, TransactionTemplate transactionTemplate) {
+        this.eventRepo = eventRepo;
+        this.statusRepo = statusRepo;
+        this.totalsRepo = totalsRepo;
+        this.em = em;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // backfills databases that had contracts before promotions were tracked, before the web server starts
+    @Override
+    public void afterSingletonsInstantiated() {
+        this.transactionTemplate.executeWithoutResult(status -> rebuildIfEmpty());
+    }
+
+    /**
+     * Recomputes the employee's promotions from {@code career}, which must be their
+     * complete contract history ordered by start date then id.
+     */
+    @Transactional
+    public void refresh(Long employeeId, List<CareerRowDto> career) {
+        Map<Long, PromotionEvent> existing = new HashMap<>();
+        this.eventRepo.findByEmployeeId(employeeId).forEach(e -> existing.put(e.getContractId(), e));
+
+        List<PromotionEvent> promotions = promotionsOf(employeeId, career);
+        pendingTotals().add(employeeId, promotions.size() - existing.size(),
+                intervalDays(promotions) - intervalDays(existing.values()));
+        for (PromotionEvent promotion : promotions) {
+            PromotionEvent current = existing.remove(promotion.getContractId());
+            if (current == null) {
+                this.eventRepo.save(promotion);
+            } else {
+                copy(promotion, current);
+            }
+        }
+        this.eventRepo.deleteAll(existing.values());
+
+        PromotionStatus status = this.statusRepo.findById(employeeId).orElse(null);
+        if (career.isEmpty()) {
+            if (status != null) {
+                this.statusRepo.delete(status);
+            }
+        } else {
+            if (status == null) {
+                status = new PromotionStatus();
+                status.setEmployeeId(employeeId);
+            }
+            status.setLastPromotionDate(lastPromotionDate(career, promotions));
+            this.statusRepo.save(status);
+        }
+    }
+
+    // for employees that are known to have no promotion rows yet, skips the lookups in refresh
+    @Transactional
+    public void create(Long employeeId, List<CareerRowDto> career) {
+        List<PromotionEvent> promotions = insert(employeeId, career);
+        pendingTotals().add(employeeId, promotions.size(), intervalDays(promotions));
+    }
+
+    @Transactional
+    public void remove(Long employeeId) {
+        refresh(employeeId, List.of());
+    }
+
+    public List<PromotionDto> findRecent(int limit) {
+        return this.eventRepo.findRecent(limit);
+    }
+
+    public List<PromotionGapDto> findLongestGaps(int limit) {
+        return this.statusRepo.findLongestGaps(Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public PromotionIntervalDto getAverageInterval() {
+        Object[] row = this.totalsRepo.sum().get(0);
+        long promotions = ((Number) row[0]).longValue();
+        long intervalDays = ((Number) row[1]).longValue();
+        Double average = promotions == 0 ? null : (double) intervalDays / promotions;
+        return new PromotionIntervalDto(average, promotions);
+    }
+
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (this.statusRepo.count() == 0) {
+            rebuild();
+        }
+    }
+
+    // a chunk of employees at a time, so neither the contract history nor the persistence context is held whole
+    private void rebuild() {
+        this.totalsRepo.reset();
+        PendingTotals totals = pendingTotals();
+        int employees = 0;
+        Long afterId = 0L;
+        List<Long> ids;
+        while (!(ids = this.eventRepo.findEmployeeIdsWithContractsAfter(afterId, Limit.of(REBUILD_CHUNK)))
+                .isEmpty()) {
+            List<CareerRowDto> career = new ArrayList<>();
+            for (CareerRowDto row : this.eventRepo.findCareerRows(ids)) {
+                if (!career.isEmpty() && !career.get(0).employeeId().equals(row.employeeId())) {
+                    rebuild(career, totals);
+                    career = new ArrayList<>();
+                }
+                career.add(row);
+            }
+            rebuild(career, totals);
+            this.em.flush();
+            this.em.clear();
+            employees += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (employees > 0) {
+            log.info("Rebuilt promotion history for {} employees", employees);
+        }
+    }
+
+    private void rebuild(List<CareerRowDto> career, PendingTotals totals) {
+        Long employeeId = career.get(0).employeeId();
+        List<PromotionEvent> promotions = insert(employeeId, career);
+        totals.add(employeeId, promotions.size(), intervalDays(promotions));
+    }
+
+    private List<PromotionEvent> insert(Long employeeId, List<CareerRowDto> career) {
+        if (career.isEmpty()) {
+            return List.of();
+        }
+        List<PromotionEvent> promotions = promotionsOf(employeeId, career);
+        this.eventRepo.saveAll(promotions);
+
+        PromotionStatus status = new PromotionStatus();
+        status.setEmployeeId(employeeId);
+        status.setLastPromotionDate(lastPromotionDate(career, promotions));
+        this.statusRepo.save(status);
+        return promotions;
+    }
+
+    static List<PromotionEvent> promotionsOf(Long employeeId, List<CareerRowDto> career) {
+        List<PromotionEvent> promotions = new ArrayList<>();
+        for (int i = 1; i < career.size(); i++) {
+            CareerRowDto previous = career.get(i - 1);
+            CareerRowDto contract = career.get(i);
+            if (previous.salary() == null || contract.salary() == null || contract.salary() <= previous.salary()) {
+                continue;
+            }
+            PromotionEvent promotion = new PromotionEvent();
+            promotion.setContractId(contract.contractId());
+            promotion.setEmployeeId(employeeId);
+            promotion.setPromotionDate(contract.startDate());
+            promotion.setPreviousStartDate(previous.startDate());
+            promotion.setPreviousSalary(previous.salary());
+            promotion.setSalary(contract.salary());
+            promotion.setIntervalDays((int) ChronoUnit.DAYS.between(previous.startDate(), contract.startDate()));
+            promotions.add(promotion);
+        }
+        return promotions;
+    }
+
+    // never promoted counts from the first contract
+    private static LocalDate lastPromotionDate(List<CareerRowDto> career, List<PromotionEvent> promotions) {
+        return promotions.isEmpty()
+                ? career.get(0).startDate()
+                : promotions.get(promotions.size() - 1).getPromotionDate();
+    }
+
+    private static long intervalDays(Collection<PromotionEvent> promotions) {
+        long days = 0;
+        for (PromotionEvent promotion : promotions) {
+            days += promotion.getIntervalDays();
+        }
+        return days;
+    }
+
+    // this transaction's moves to the totals, written just before it commits
+    private PendingTotals pendingTotals() {
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof PendingTotals pending && pending.service() == this) {
+                return pending;
+            }
+        }
+        PendingTotals pending = new PendingTotals();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private static void copy(PromotionEvent from, PromotionEvent to) {
+        to.setPromotionDate(from.getPromotionDate());
+        to.setPreviousStartDate(from.getPreviousStartDate());
+        to.setPreviousSalary(from.getPreviousSalary());
+        to.setSalary(from.getSalary());
+        to.setIntervalDays(from.getIntervalDays());
+    }
+
+    /**
+     * Adds up a transaction's moves per slot and writes them last, in slot
+     * order: the slot rows are the only locks two careers' writers share, and
+     * taking them in one order at the end keeps those writers from deadlocking.
+     */
+    private class PendingTotals implements TransactionSynchronization {
+        private final long[] promotions = new long[TOTALS_SLOTS];
+        private final long[] intervalDays = new long[TOTALS_SLOTS];
+
+        PromotionService service() {
+            return PromotionService.this;
+        }
+
+        void add(Long employeeId, long promotions, long intervalDays) {
+            int slot = Math.floorMod(employeeId, TOTALS_SLOTS);
+            this.promotions[slot] += promotions;
+            this.intervalDays[slot] += intervalDays;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            for (int slot = 0; slot < TOTALS_SLOTS; slot++) {
+                if (this.promotions[slot] != 0 || this.intervalDays[slot] != 0) {
+                    totalsRepo.add(slot, this.promotions[slot], this.intervalDays[slot]);
+                }
+            }
+        }
+    }
+}
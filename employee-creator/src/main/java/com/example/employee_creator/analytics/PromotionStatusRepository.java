@@ -0,0 +1,22 @@
+package com.example.employee_creator.analytics;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.employee_creator.analytics.dtos.PromotionGapDto;
+import com.example.employee_creator.analytics.entities.PromotionStatus;
+
+public interface PromotionStatusRepository extends JpaRepository<PromotionStatus, Long> {
+
+    @Query("""
+            select new com.example.employee_creator.analytics.dtos.PromotionGapDto(
+                e.id, e.firstName, e.lastName, s.lastPromotionDate)
+            from PromotionStatus s
+            join Employee e on e.id = s.employeeId
+            order by s.lastPromotionDate, s.employeeId
+            """)
+    List<PromotionGapDto> findLongestGaps(Limit limit);
+}
@@ -0,0 +1,29 @@
+package com.example.employee_creator.analytics;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.employee_creator.analytics.entities.PromotionTotals;
+
+public interface PromotionTotalsRepository extends JpaRepository<PromotionTotals, Integer> {
+
+    // [promotion count, total interval days], from a fixed number of rows however long the history
+    @Query("select coalesce(sum(t.promotions), 0), coalesce(sum(t.intervalDays), 0) from PromotionTotals t")
+    List<Object[]> sum();
+
+    // holds the slot's row lock until the transaction ends
+    @Modifying
+    @Query("""
+            update PromotionTotals t
+            set t.promotions = t.promotions + :promotions, t.intervalDays = t.intervalDays + :intervalDays
+            where t.slot = :slot
+            """)
+    int add(int slot, long promotions, long intervalDays);
+
+    @Modifying
+    @Query("update PromotionTotals t set t.promotions = 0, t.intervalDays = 0")
+    int reset();
+}
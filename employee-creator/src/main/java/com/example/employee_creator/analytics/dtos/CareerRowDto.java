@@ -0,0 +1,11 @@
+package com.example.employee_creator.analytics.dtos;
+
+import java.time.LocalDate;
+
+import com.example.employee_creator.contract.entities.Contract;
+
+public record CareerRowDto(Long employeeId, Long contractId, Float salary, LocalDate startDate) {
+    public static CareerRowDto fromEntity(Contract c) {
+        return new CareerRowDto(c.getEmployee().getId(), c.getId(), c.getSalary(), c.getStartDate());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.employee_creator.analytics.dtos;
+
+import java.time.LocalDate;
+
+public record PromotionDto(Long employeeId, String firstName, String lastName, LocalDate promotionDate,
+        Float previousSalary, Float salary) {
+}
@@ -0,0 +1,14 @@
+package com.example.employee_creator.analytics.dtos;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public record PromotionGapDto(Long employeeId, String firstName, String lastName, LocalDate lastPromotionDate,
+        long daysSincePromotion) {
+
+    // used by the JPQL projection, the gap is relative to today
+    public PromotionGapDto(Long employeeId, String firstName, String lastName, LocalDate lastPromotionDate) {
+        this(employeeId, firstName, lastName, lastPromotionDate,
+                ChronoUnit.DAYS.between(lastPromotionDate, LocalDate.now()));
+    }
+}
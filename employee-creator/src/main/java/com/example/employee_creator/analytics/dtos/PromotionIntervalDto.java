@@ -0,0 +1,4 @@
+package com.example.employee_creator.analytics.dtos;
+
+public record PromotionIntervalDto(Double averageDays, long promotions) {
+}
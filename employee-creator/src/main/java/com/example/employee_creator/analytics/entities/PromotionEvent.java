@@ -0,0 +1,120 @@
+package com.example.employee_creator.analytics.entities;
+
+import java.time.LocalDate;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * A contract that pays more than the one before it in the same career, kept
+ * up to date by {@link com.example.employee_creator.analytics.PromotionService}.
+ */
+@Entity
+@Table(name = "promotion_events", indexes = {
+        @Index(name = "idx_promotion_events_date", columnList = "promotion_date, contract_id"),
+        @Index(name = "idx_promotion_events_employee", columnList = "employee_id")
+})
+public class PromotionEvent implements Persistable<Long> {
+
+    @Id
+    @Column(name = "contract_id")
+    private Long contractId;
+    @Column(name = "employee_id")
+    private Long employeeId;
+    @Column(name = "promotion_date")
+    private LocalDate promotionDate;
+    @Column
+    private LocalDate previousStartDate;
+    @Column
+    private Float previousSalary;
+    @Column
+    private Float salary;
+    // days since the previous contract started
+    @Column
+    private int intervalDays;
+
+    // the id is assigned, so Spring Data can't tell new rows apart without this
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public Long getId() {
+        return contractId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(Long contractId) {
+        this.contractId = contractId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LocalDate getPromotionDate() {
+        return promotionDate;
+    }
+
+    public void setPromotionDate(LocalDate promotionDate) {
+        this.promotionDate = promotionDate;
+    }
+
+    public LocalDate getPreviousStartDate() {
+        return previousStartDate;
+    }
+
+    public void setPreviousStartDate(LocalDate previousStartDate) {
+        this.previousStartDate = previousStartDate;
+    }
+
+    public Float getPreviousSalary() {
+        return previousSalary;
+    }
+
+    public void setPreviousSalary(Float previousSalary) {
+        this.previousSalary = previousSalary;
+    }
+
+    public Float getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Float salary) {
+        this.salary = salary;
+    }
+
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    public void setIntervalDays(int intervalDays) {
+        this.intervalDays = intervalDays;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.example.employee_creator.analytics.entities;
+
+import java.time.LocalDate;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * When each employee with a contract was last promoted, or first started if
+ * they never were. Indexed so the longest gaps can be read off in order.
+ */
+@Entity
+@Table(name = "promotion_status", indexes = {
+        @Index(name = "idx_promotion_status_last", columnList = "last_promotion_date, employee_id")
+})
+public class PromotionStatus implements Persistable<Long> {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+    @Column(name = "last_promotion_date")
+    private LocalDate lastPromotionDate;
+
+    // the id is assigned, so Spring Data can't tell new rows apart without this
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public Long getId() {
+        return employeeId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LocalDate getLastPromotionDate() {
+        return lastPromotionDate;
+    }
+
+    public void setLastPromotionDate(LocalDate lastPromotionDate) {
+        this.lastPromotionDate = lastPromotionDate;
+    }
+
+}
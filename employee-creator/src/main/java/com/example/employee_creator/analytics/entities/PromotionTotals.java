@@ -0,0 +1,36 @@
+package com.example.employee_creator.analytics.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Running totals over {@link PromotionEvent}, one row per slot of employees.
+ * Only ever changed by adding to it, see
+ * {@link com.example.employee_creator.analytics.PromotionTotalsRepository#add}.
+ */
+@Entity
+@Table(name = "promotion_totals")
+public class PromotionTotals {
+
+    @Id
+    @Column(name = "slot")
+    private Integer slot;
+    @Column(name = "promotions")
+    private Long promotions;
+    @Column(name = "interval_days")
+    private Long intervalDays;
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public Long getPromotions() {
+        return promotions;
+    }
+
+    public Long getIntervalDays() {
+        return intervalDays;
+    }
+}
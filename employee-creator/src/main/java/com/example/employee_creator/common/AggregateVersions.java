@@ -0,0 +1,52 @@
+package com.example.employee_creator.common;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+import com.example.employee_creator.events.ChangeEvent;
+import com.example.employee_creator.events.ChangeEvent.Action;
+import com.example.employee_creator.events.ChangeEventBus;
+
+/**
+ * A change counter per aggregate, so caches can tell whether anything they were
+ * built from has been written since by comparing a few numbers instead of
+ * tracking keys. Counters move as the {@link ChangeEventBus} announces writes,
+ * after their transaction commits: a reader that samples them before querying
+ * either sees the write or ends up holding an outdated stamp.
+ */
+@Component
+public class AggregateVersions {
+
+    public enum Aggregate {
+        EMPLOYEES, CONTRACTS, DEPARTMENTS
+    }
+
+    private final AtomicLongArray versions = new AtomicLongArray(Aggregate.values().length);
+
+    public AggregateVersions(ChangeEventBus events) {
+        events.subscribe(this::onChange);
+    }
+
+    public long current(Aggregate aggregate) {
+        return this.versions.get(aggregate.ordinal());
+    }
+
+    private void onChange(ChangeEvent event) {
+        switch (event.entity()) {
+            case EMPLOYEE -> {
+                bump(Aggregate.EMPLOYEES);
+                // an employee's contracts go with them
+                if (event.action() == Action.DELETED) {
+                    bump(Aggregate.CONTRACTS);
+                }
+            }
+            case CONTRACT -> bump(Aggregate.CONTRACTS);
+            case DEPARTMENT -> bump(Aggregate.DEPARTMENTS);
+        }
+    }
+
+    private void bump(Aggregate aggregate) {
+        this.versions.incrementAndGet(aggregate.ordinal());
+    }
+}
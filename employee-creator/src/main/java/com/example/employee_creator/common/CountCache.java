@@ -0,0 +1,49 @@
+package com.example.employee_creator.common;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.employee_creator.config.datasource.PrimaryReads;
+
+/**
+ * Short-lived cache for {@code count(*)} results so that cursor paging through a
+ * listing does not re-run the count for every page. Counts are taken on the
+ * primary, see {@link PrimaryReads}, so a lagging replica's can't be kept for
+ * a whole TTL.
+ */
+@Component
+public class CountCache {
+    private static final int MAX_ENTRIES = 1_000;
+
+    private final ConcurrentHashMap<String, Entry> counts = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public CountCache(@Value("${app.pagination.count-cache-ttl:30s}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public long get(String key, LongSupplier counter) {
+        long now = System.nanoTime();
+        Entry cached = this.counts.get(key);
+        if (cached != null && now - cached.loadedAt() < this.ttlNanos) {
+            return cached.count();
+        }
+
+        long count = PrimaryReads.read(counter::getAsLong);
+        if (this.counts.size() >= MAX_ENTRIES) {
+            this.counts.values().removeIf(e -> now - e.loadedAt() >= this.ttlNanos);
+            if (this.counts.size() >= MAX_ENTRIES) {
+                this.counts.clear();
+            }
+        }
+        this.counts.put(key, new Entry(count, now));
+        return count;
+    }
+
+    private record Entry(long count, long loadedAt) {
+    }
+}
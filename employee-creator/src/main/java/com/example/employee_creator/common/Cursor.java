@@ -0,0 +1,32 @@
+package com.example.employee_creator.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row a client has seen in a keyset-paginated listing.
+ * Clients only ever see the opaque token produced by {@link #encode()}.
+ */
+public record Cursor(String sortKey, long id) {
+
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            if (idx < 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(raw.substring(idx + 1), Long.parseLong(raw.substring(0, idx)));
+        } catch (IllegalArgumentException e) {
+            // also covers NumberFormatException and malformed base64
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
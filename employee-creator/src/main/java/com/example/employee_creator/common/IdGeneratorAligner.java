@@ -0,0 +1,68 @@
+package com.example.employee_creator.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.employee_creator.common.entities.BaseEntity;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+
+/**
+ * Moves the shared id generator past every id already in use. Rows created
+ * while entities used IDENTITY columns would otherwise collide with the ids
+ * the table generator hands out.
+ */
+@Component
+public class IdGeneratorAligner {
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorAligner.class);
+
+    private final EntityManagerFactory emf;
+    private final JdbcTemplate jdbc;
+
+    public IdGeneratorAligner(EntityManagerFactory emf, JdbcTemplate jdbc) {
+        this.emf = emf;
+        this.jdbc = jdbc;
+    }
+
+    @PostConstruct
+    public void align() {
+        long maxId = 0;
+        EntityManager em = this.emf.createEntityManager();
+        try {
+            for (EntityType<?> entity : this.emf.getMetamodel().getEntities()) {
+                if (BaseEntity.class.isAssignableFrom(entity.getJavaType())) {
+                    Long max = em.createQuery("select max(e.id) from " + entity.getName() + " e", Long.class)
+                            .getSingleResult();
+                    maxId = Math.max(maxId, max == null ? 0 : max);
+                }
+            }
+        } finally {
+            em.close();
+        }
+        if (maxId == 0) {
+            return;
+        }
+
+        // leave a full allocation of headroom whichever end of the block the optimizer hands out first
+        long floor = maxId + 1 + BaseEntity.ID_ALLOCATION_SIZE;
+        int updated = this.jdbc.update(
+                "update " + BaseEntity.ID_GENERATOR_TABLE + " set next_val = ? where sequence_name = ? and next_val < ?",
+                floor, BaseEntity.ID_GENERATOR_SEGMENT, floor);
+        Integer rows = this.jdbc.queryForObject(
+                "select count(*) from " + BaseEntity.ID_GENERATOR_TABLE + " where sequence_name = ?", Integer.class,
+                BaseEntity.ID_GENERATOR_SEGMENT);
+        if (rows == null || rows == 0) {
+            this.jdbc.update("insert into " + BaseEntity.ID_GENERATOR_TABLE + " (sequence_name, next_val) values (?, ?)",
+                    BaseEntity.ID_GENERATOR_SEGMENT, floor);
+            updated = 1;
+        }
+        if (updated > 0) {
+            log.info("Moved id generator to {} past existing ids", floor);
+        }
+    }
+}
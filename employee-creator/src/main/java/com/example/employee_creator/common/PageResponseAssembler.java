@@ -1,10 +1,12 @@
 package com.example.employee_creator.common;
 
+import java.util.List;
 import java.util.function.Function;
 
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
+import com.example.employee_creator.common.dtos.CursorPageResponse;
 import com.example.employee_creator.common.dtos.PageResponse;
 
 @Component
@@ -25,4 +27,21 @@ public class PageResponseAssembler {
                 prevPage,
                 page.map(mapper).getContent());
     }
+
+    /**
+     * {@code rows} is expected to hold up to {@code size + 1} rows: the extra row only
+     * signals that another page exists and is not returned.
+     */
+    public <T, R> PageResponse<R> toCursorPageResponse(List<T> rows, int size, Function<T, Cursor> cursorOf,
+            Long totalResults, Function<T, R> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+
+        return new CursorPageResponse<R>(
+                totalResults,
+                size,
+                nextCursor,
+                content.stream().map(mapper).toList());
+    }
 }
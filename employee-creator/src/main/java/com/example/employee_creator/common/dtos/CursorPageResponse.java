@@ -0,0 +1,21 @@
+package com.example.employee_creator.common.dtos;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * A page reached by cursor. It has no page numbers, so it leaves them out
+ * rather than sending them as null, and carries totals only when they were
+ * asked for.
+ */
+@JsonIgnoreProperties({ "nextPage", "previousPage" })
+public class CursorPageResponse<T> extends PageResponse<T> {
+
+    public CursorPageResponse(Long totalResults,
+            int resultsPerPage,
+            String nextCursor,
+            List<T> data) {
+        super(totalResults, resultsPerPage, nextCursor, data);
+    }
+}
@@ -2,13 +2,25 @@ package com.example.employee_creator.common.dtos;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One page of a listing. Offset pages always carry their page numbers, with
+ * {@code nextPage} and {@code previousPage} null at either end; cursor pages,
+ * see {@link CursorPageResponse}, leave out what they don't have instead.
+ */
 public class PageResponse<T> {
-    private int currentPage;
-    private int totalPages;
-    private long totalResults;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer currentPage;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalResults;
     private int resultsPerPage;
     private Integer nextPage;
     private Integer previousPage;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
     private List<T> data;
 
     public PageResponse(int currentPage,
@@ -27,15 +39,28 @@ public class PageResponse<T> {
         this.data = data;
     }
 
-    public int getCurrentPage() {
+    // cursor pages have no page numbers, and only carry totals when they were asked for
+    protected PageResponse(Long totalResults,
+            int resultsPerPage,
+            String nextCursor,
+            List<T> data) {
+        this.totalResults = totalResults;
+        this.totalPages = totalResults == null ? null
+                : (int) ((totalResults + resultsPerPage - 1) / resultsPerPage);
+        this.resultsPerPage = resultsPerPage;
+        this.nextCursor = nextCursor;
+        this.data = data;
+    }
+
+    public Integer getCurrentPage() {
         return currentPage;
     }
 
-    public int getTotalPages() {
+    public Integer getTotalPages() {
         return totalPages;
     }
 
-    public long getTotalResults() {
+    public Long getTotalResults() {
         return totalResults;
     }
 
@@ -51,6 +76,10 @@ public class PageResponse<T> {
         return previousPage;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
     public List<T> getData() {
         return data;
     }
@@ -0,0 +1,129 @@
+package com.example.employee_creator.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.example.employee_creator.common.dtos.PageResponse;
+import com.example.employee_creator.contract.dtos.ContractDto;
+import com.example.employee_creator.employee.dtos.EmployeeDto;
+import com.example.employee_creator.employee.dtos.EnrichedEmployeeDto;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Writes employee, contract and employee page responses as Protobuf, following
+ * {@code proto/employee_creator.proto}. Clients generate their classes from that
+ * file; here Jackson writes the DTOs against the parsed schema, so there is no
+ * generated code to keep in step. Response-only: requests stay JSON.
+ */
+public class ProtobufDtoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final String SCHEMA = "proto/employee_creator.proto";
+
+    private final ObjectWriter employee;
+    private final ObjectWriter enrichedEmployee;
+    private final ObjectWriter contract;
+    private final ObjectWriter contractList;
+    private final ObjectWriter employeePage;
+
+    public ProtobufDtoHttpMessageConverter() {
+        super(PROTOBUF);
+        ProtobufMapper mapper = new ProtobufMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+        ProtobufSchema schema = loadSchema();
+        this.employee = mapper.writer(schema.withRootType("EmployeeDto"));
+        this.enrichedEmployee = mapper.writer(schema.withRootType("EnrichedEmployeeDto"));
+        this.contract = mapper.writer(schema.withRootType("ContractDto"));
+        this.contractList = mapper.writer(schema.withRootType("ContractList"));
+        this.employeePage = mapper.writer(schema.withRootType("EmployeePage"));
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == EmployeeDto.class || clazz == EnrichedEmployeeDto.class || clazz == ContractDto.class
+                || PageResponse.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && writerFor(type != null ? type : clazz) != null;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        ObjectWriter writer = writerFor(type != null ? type : body.getClass());
+        Object message = writer == this.contractList ? new ContractList((List<?>) body) : body;
+        writer.writeValue(outputMessage.getBody(), message);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    // null for anything without a message in the schema
+    private ObjectWriter writerFor(Type type) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        Class<?> raw = resolved.resolve();
+        if (raw == null) {
+            return null;
+        }
+        Class<?> element = resolved.getGeneric(0).resolve();
+        if (raw == EmployeeDto.class) {
+            return this.employee;
+        }
+        if (raw == EnrichedEmployeeDto.class) {
+            return this.enrichedEmployee;
+        }
+        if (raw == ContractDto.class) {
+            return this.contract;
+        }
+        if (PageResponse.class.isAssignableFrom(raw) && element == EmployeeDto.class) {
+            return this.employeePage;
+        }
+        if (List.class.isAssignableFrom(raw) && element == ContractDto.class) {
+            return this.contractList;
+        }
+        return null;
+    }
+
+    private static ProtobufSchema loadSchema() {
+        try (InputStream in = new ClassPathResource(SCHEMA).getInputStream()) {
+            return ProtobufSchemaLoader.std.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load " + SCHEMA, e);
+        }
+    }
+
+    private record ContractList(List<?> contracts) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.employee_creator.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * The representations a DTO response can be written in, in the order the
+ * converters are tried, so JSON answers a wildcard or a missing Accept header.
+ */
+public enum ResponseFormat {
+    JSON("json", MediaType.APPLICATION_JSON),
+    CBOR("cbor", MediaType.parseMediaType("application/cbor")),
+    SMILE("smile", MediaType.parseMediaType("application/x-jackson-smile")),
+    PROTOBUF("protobuf", ProtobufDtoHttpMessageConverter.PROTOBUF);
+
+    private final String tag;
+    private final MediaType mediaType;
+
+    ResponseFormat(String tag, MediaType mediaType) {
+        this.tag = tag;
+        this.mediaType = mediaType;
+    }
+
+    /** A short name for the format, fit for an entity tag. */
+    public String getTag() {
+        return tag;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * The format a response to this Accept header will be written in, picked
+     * the way Spring MVC picks a converter. Headers it can't make sense of, or
+     * that accept none of these, get JSON, which is also what the error
+     * response will be.
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (ResponseFormat format : values()) {
+                if (type.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
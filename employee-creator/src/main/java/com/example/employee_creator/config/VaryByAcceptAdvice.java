@@ -0,0 +1,38 @@
+package com.example.employee_creator.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds {@code Vary: Accept} to every body written by a message converter, since
+ * any of them may have been negotiated between the {@link ResponseFormat}s and
+ * a cache must keep those apart. Bodiless responses, a 304 say, don't come
+ * through here and set it themselves.
+ */
+@ControllerAdvice
+public class VaryByAcceptAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        // adds to whatever the servlet response already varies by, CORS's Origin say
+        if (headers.getVary().stream()
+                .noneMatch(name -> name.equalsIgnoreCase(HttpHeaders.ACCEPT) || name.equals("*"))) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.employee_creator.config.datasource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Caps how many callers may hold a connection at once. Waiters park on a fair
+ * semaphore instead of piling into the pool's own hand-off, which matters once
+ * requests run on virtual threads and there can be thousands of them. A permit
+ * is held from {@code getConnection} until the connection is closed. Metrics
+ * are tagged with the {@code pool} the bulkhead guards.
+ *
+ * A thread that already holds a connection from this bulkhead, say one that
+ * opens a {@code REQUIRES_NEW} transaction, is let through without a second
+ * permit. Otherwise every holder could end up waiting on a permit only another
+ * holder can return. Its connection still comes from the pool, which is why
+ * the permits default to fewer than the pool's connections, see
+ * {@link DataSourceBulkheadConfig}.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final long timeoutNanos;
+    private final Timer waitTimer;
+    private final Counter rejected;
+    // connections each thread holds from this bulkhead; counters travel with their connections, which may be
+    // closed from another thread
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+
+    public BulkheadDataSource(DataSource target, String pool, int permits, Duration timeout, MeterRegistry registry) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.timeoutNanos = timeout.toNanos();
+        this.waitTimer = Timer.builder("app.db.bulkhead.wait")
+                .description("Time spent waiting for a database permit")
+                .tag("pool", pool)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.rejected = Counter.builder("app.db.bulkhead.rejected")
+                .description("Connection requests that timed out waiting for a permit")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("app.db.bulkhead.waiting", this.permits, Semaphore::getQueueLength).tag("pool", pool)
+                .register(registry);
+        Gauge.builder("app.db.bulkhead.available", this.permits, Semaphore::availablePermits).tag("pool", pool)
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return guarded(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return guarded(() -> super.getConnection(username, password));
+    }
+
+    private Connection guarded(Open open) throws SQLException {
+        AtomicInteger holding = this.held.get();
+        boolean nested = holding.get() > 0;
+        if (!nested) {
+            acquire();
+        }
+        try {
+            Connection connection = releaseOnClose(open.connection(), holding, !nested);
+            holding.incrementAndGet();
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            if (!nested) {
+                this.permits.release();
+            }
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = this.permits.tryAcquire(this.timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        } finally {
+            this.waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            this.rejected.increment();
+            throw new SQLTransientConnectionException("Timed out after "
+                    + TimeUnit.NANOSECONDS.toMillis(this.timeoutNanos) + "ms waiting for a database permit");
+        }
+    }
+
+    private Connection releaseOnClose(Connection target, AtomicInteger holding, boolean permit) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            if (released.compareAndSet(false, true)) {
+                                try {
+                                    return invoke(target, method, args);
+                                } finally {
+                                    holding.decrementAndGet();
+                                    if (permit) {
+                                        this.permits.release();
+                                    }
+                                }
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private interface Open {
+        Connection connection() throws SQLException;
+    }
+
+    private static Object invoke(Connection target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.employee_creator.config.datasource;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Puts a {@link BulkheadDataSource} in front of each Hikari pool. On by default
+ * whenever {@code spring.threads.virtual.enabled} is, since that is when request
+ * concurrency stops being bounded by Tomcat's thread pool. The pools
+ * {@link ReplicaRoutingConfig} builds aren't beans, so it puts a bulkhead in
+ * front of each of them itself through {@link #bulkhead}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.bulkhead.enabled", havingValue = "true")
+public class DataSourceBulkheadConfig {
+    static final int DEFAULT_RESERVE = 2;
+
+    @Bean
+    static BeanPostProcessor dataSourceBulkhead(Environment env, ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof HikariDataSource pool ? bulkhead(pool, env, registry.getObject()) : bean;
+            }
+        };
+    }
+
+    static boolean isEnabled(Environment env) {
+        return env.getProperty("app.db.bulkhead.enabled", Boolean.class, false);
+    }
+
+    static DataSource bulkhead(HikariDataSource pool, Environment env, MeterRegistry registry) {
+        // by default a few connections short of the pool, left for the nested connections a bulkhead lets through
+        int reserve = env.getProperty("app.db.bulkhead.reserve", Integer.class, DEFAULT_RESERVE);
+        int permits = env.getProperty("app.db.bulkhead.permits", Integer.class,
+                Math.max(1, pool.getMaximumPoolSize() - reserve));
+        Duration timeout = env.getProperty("app.db.bulkhead.timeout", Duration.class,
+                Duration.ofMillis(pool.getConnectionTimeout()));
+        return new BulkheadDataSource(pool, pool.getPoolName(), permits, timeout, registry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.employee_creator.config.datasource;
+
+/**
+ * Reads that must come from the primary even in a read-only transaction.
+ * In-memory caches fill themselves through {@link #read}: their entries are
+ * stamped with what has been committed so far, and a replica that hasn't
+ * caught up yet would have them store older rows under a newer stamp. With
+ * replicas off there is only the primary, and this does nothing.
+ *
+ * Only connections opened inside {@link #read} are routed, so a cache that may
+ * be called mid-transaction should load in a transaction of its own.
+ */
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public interface Read<T, E extends Exception> {
+        T read() throws E;
+    }
+
+    public static <T, E extends Exception> T read(Read<T, E> read) throws E {
+        if (ACTIVE.get() != null) {
+            return read.read();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return read.read();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    static boolean active() {
+        return ACTIVE.get() != null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.employee_creator.config.datasource;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Picks a pool for each new connection from the transaction asking for it:
+ * read-only transactions take the replicas in turn, everything else gets the
+ * primary. A client inside its {@link ReadYourWritesFilter} window reads from
+ * the primary too, and so do caches filling themselves through {@link PrimaryReads}. Only works behind a {@link LazyConnectionDataSourceProxy},
+ * which holds off until the transaction's read-only flag is set.
+ *
+ * Connections are taken through {@code guard}, which wraps each pool, in a
+ * {@link BulkheadDataSource} when those are on.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReadYourWritesFilter readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter primaryWrites;
+    private final Counter primaryPinned;
+    private final Counter primaryCacheFills;
+    private final List<Counter> replicaReads;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+            Function<HikariDataSource, DataSource> guard, ReadYourWritesFilter readYourWrites,
+            MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        DataSource guardedPrimary = guard.apply(primary);
+        targets.put(primary.getPoolName(), guardedPrimary);
+        replicas.forEach(r -> targets.put(r.getPoolName(), guard.apply(r)));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(guardedPrimary);
+
+        this.primaryWrites = routed(registry, primary, "read-write");
+        this.primaryPinned = routed(registry, primary, "read-your-writes");
+        this.primaryCacheFills = routed(registry, primary, "cache-fill");
+        this.replicaReads = this.replicas.stream().map(r -> routed(registry, r, "read-only")).toList();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                this.readYourWrites.recordWrite();
+            }
+            this.primaryWrites.increment();
+            return this.primary.getPoolName();
+        }
+        if (this.readYourWrites.pinnedToPrimary()) {
+            this.primaryPinned.increment();
+            return this.primary.getPoolName();
+        }
+        if (PrimaryReads.active()) {
+            this.primaryCacheFills.increment();
+            return this.primary.getPoolName();
+        }
+        int i = Math.floorMod(this.next.getAndIncrement(), this.replicas.size());
+        this.replicaReads.get(i).increment();
+        return this.replicas.get(i).getPoolName();
+    }
+
+    @Override
+    public void close() {
+        this.replicas.forEach(HikariDataSource::close);
+        this.primary.close();
+    }
+
+    private static Counter routed(MeterRegistry registry, HikariDataSource pool, String reason) {
+        return Counter.builder("app.db.route")
+                .description("Connections handed out, by pool and why it was chosen")
+                .tag("pool", pool.getPoolName())
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
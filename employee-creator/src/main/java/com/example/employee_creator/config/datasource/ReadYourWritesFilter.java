@@ -0,0 +1,92 @@
+package com.example.employee_creator.config.datasource;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps a client's reads on the primary for a while after it writes, so it
+ * never reads back from a replica that hasn't caught up. The deadline travels
+ * in a cookie, which makes it hold across instances; threads outside a
+ * request keep their own.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String COOKIE = "primary-until";
+
+    private final Duration window;
+    private final ThreadLocal<Window> current = new ThreadLocal<>();
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        this.current.set(new Window(primaryUntil(request), response));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            this.current.remove();
+        }
+    }
+
+    boolean pinnedToPrimary() {
+        Window w = this.current.get();
+        long now = System.currentTimeMillis();
+        // a deadline further out than one window didn't come from us
+        return w != null && w.primaryUntil > now && w.primaryUntil <= now + this.window.toMillis();
+    }
+
+    // called whenever a read-write transaction takes a connection
+    void recordWrite() {
+        Window w = this.current.get();
+        if (w == null) {
+            w = new Window(0, null);
+            this.current.set(w);
+        }
+        w.primaryUntil = System.currentTimeMillis() + this.window.toMillis();
+        if (w.response != null && !w.cookieSent && !w.response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(w.primaryUntil));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, this.window.toSeconds()));
+            w.response.addCookie(cookie);
+            w.cookieSent = true;
+        }
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static final class Window {
+        private long primaryUntil;
+        private final HttpServletResponse response;
+        private boolean cookieSent;
+
+        private Window(long primaryUntil, HttpServletResponse response) {
+            this.primaryUntil = primaryUntil;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.employee_creator.config.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the single auto-configured pool with a primary pool plus one per
+ * {@code app.datasource.replicas.urls} entry, routed by
+ * {@link ReadWriteRoutingDataSource}. Replicas take the primary's credentials
+ * and {@code spring.datasource.hikari} settings unless overridden under
+ * {@code app.datasource.replicas}. Every pool reports the usual
+ * {@code hikaricp.*} metrics, tagged with its name, and sits behind its own
+ * bulkhead when {@code app.db.bulkhead.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(
+            @Value("${app.datasource.replicas.read-your-writes-window:5s}") Duration window) {
+        return new ReadYourWritesFilter(window);
+    }
+
+    @Bean(destroyMethod = "close")
+    ReadWriteRoutingDataSource routingDataSource(DataSourceProperties properties, Environment env,
+            ReadYourWritesFilter readYourWrites, MeterRegistry registry) {
+        Binder binder = Binder.get(env);
+        HikariDataSource primary = pool(properties, binder, registry, "primary", properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword());
+
+        List<String> urls = binder.bind("app.datasource.replicas.urls", Bindable.listOf(String.class))
+                .orElse(List.of());
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas.enabled needs app.datasource.replicas.urls");
+        }
+        String username = env.getProperty("app.datasource.replicas.username", properties.determineUsername());
+        String password = env.getProperty("app.datasource.replicas.password", properties.determinePassword());
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = pool(properties, binder, registry, "replica-" + (i + 1), urls.get(i),
+                    username, password);
+            replica.setReadOnly(true);
+            binder.bind("app.datasource.replicas.pool-size", Integer.class).ifBound(replica::setMaximumPoolSize);
+            replicas.add(replica);
+        }
+        Function<HikariDataSource, DataSource> guard = DataSourceBulkheadConfig.isEnabled(env)
+                ? pool -> DataSourceBulkheadConfig.bulkhead(pool, env, registry)
+                : pool -> pool;
+        return new ReadWriteRoutingDataSource(primary, replicas, guard, readYourWrites, registry);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReadWriteRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // open-in-view keeps a session for the whole request; holding its first connection would pin every later transaction to that route
+    @Bean
+    static HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return props -> props.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, MeterRegistry registry,
+            String name, String url, String username, String password) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return pool;
+    }
+}
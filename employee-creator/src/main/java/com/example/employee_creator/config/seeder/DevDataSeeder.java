@@ -1,40 +1,74 @@
 package com.example.employee_creator.config.seeder;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import com.example.employee_creator.contract.ContractService;
-import com.example.employee_creator.contract.dtos.CreateContractDto;
+import com.example.employee_creator.contract.entities.Contract;
 import com.example.employee_creator.department.DepartmentService;
 import com.example.employee_creator.department.dtos.CreateDepartmentDto;
 import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.EmailAllocator;
 import com.example.employee_creator.employee.EmployeeService;
-import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
 import com.example.employee_creator.employee.entities.Employee;
 import com.github.javafaker.Faker;
 
+/**
+ * Seeds synthetic employees with career histories. Volume, RNG seed and
+ * parallelism come from {@code app.seeder.*}.
+ *
+ * Every employee is generated from its own RNG state derived from the seed and
+ * its index, and emails are allocated in index order, so a given seed and
+ * {@code as-of} date always produce the same data whatever the thread count.
+ * Only the surrogate ids depend on insert timing.
+ */
 @Component
 @Profile("dev")
 public class DevDataSeeder implements CommandLineRunner {
-    private final Faker faker = new Faker(new Locale("en-AU"));
+    private static final Logger log = LoggerFactory.getLogger(DevDataSeeder.class);
+
     private final EmployeeService employeeService;
     private final DepartmentService departmentService;
-    private final ContractService contractService;
+    private final EmailAllocator emailAllocator;
+
+    private final int employeeCount;
+    private final long seed;
+    private final int threads;
+    private final int batchSize;
+    private final LocalDate asOf;
+
+    // Faker is expensive to build, so each worker keeps one and reseeds its Random per employee
+    private final ThreadLocal<SeedRandom> random = ThreadLocal.withInitial(SeedRandom::new);
 
     public DevDataSeeder(EmployeeService employeeService, DepartmentService departmentService,
-            ContractService contractService) {
+            EmailAllocator emailAllocator,
+            @Value("${app.seeder.employees:300}") int employeeCount,
+            @Value("${app.seeder.seed:42}") long seed,
+            @Value("${app.seeder.threads:0}") int threads,
+            @Value("${app.batch.size:50}") int batchSize,
+            @Value("${app.seeder.as-of:}") LocalDate asOf) {
         this.employeeService = employeeService;
         this.departmentService = departmentService;
-        this.contractService = contractService;
+        this.emailAllocator = emailAllocator;
+        this.employeeCount = employeeCount;
+        this.seed = seed;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.asOf = asOf != null ? asOf : LocalDate.now();
     }
 
     @Override
@@ -44,18 +78,24 @@ public class DevDataSeeder implements CommandLineRunner {
         }
 
         List<Department> depts = seedDepartments();
-
-        for (int i = 0; i < 300; i++) {
-            String firstName = faker.name().firstName();
-            String lastName = faker.name().lastName();
-            LocalDate birthDate = faker.date().birthday(20, 60).toInstant().atZone(ZoneId.systemDefault())
-                    .toLocalDate();
-            CreateEmployeeDto dto = new CreateEmployeeDto(firstName, lastName, birthDate);
-            Employee created = this.employeeService.create(dto);
-            System.out.println("Seeded employee " + created.getEmail());
-            int deptIdx = faker.number().numberBetween(0, depts.size());
-            Department dept = depts.get(deptIdx);
-            seedCareer(created, dept);
+        ExecutorService workers = Executors.newFixedThreadPool(this.threads);
+        long started = System.nanoTime();
+        long contracts = 0;
+        // a chunk is generated, given emails in order, then inserted, keeping memory bounded
+        int chunkSize = this.batchSize * this.threads * 8;
+        try {
+            for (int from = 0; from < this.employeeCount; from += chunkSize) {
+                int to = Math.min(from + chunkSize, this.employeeCount);
+                List<Employee> chunk = generate(from, to, depts, workers);
+                for (Employee e : chunk) {
+                    e.setEmail(this.emailAllocator.allocate(e.getFirstName(), e.getLastName()));
+                    contracts += e.getContracts().size();
+                }
+                insert(chunk, workers);
+                logProgress(to, contracts, started);
+            }
+        } finally {
+            workers.shutdown();
         }
     }
 
@@ -75,28 +115,71 @@ public class DevDataSeeder implements CommandLineRunner {
         return depts;
     }
 
-    private void seedCareer(Employee e, Department dept) {
-        LocalDate firstStart = generateFirstStart(e.getDateOfBirth());
+    private List<Employee> generate(int from, int to, List<Department> depts, ExecutorService workers)
+            throws InterruptedException, ExecutionException {
+        List<Future<List<Employee>>> parts = new ArrayList<>();
+        for (int start = from; start < to; start += this.batchSize) {
+            int partFrom = start;
+            int partTo = Math.min(start + this.batchSize, to);
+            parts.add(workers.submit(() -> {
+                List<Employee> part = new ArrayList<>(partTo - partFrom);
+                for (int i = partFrom; i < partTo; i++) {
+                    part.add(generateEmployee(i, depts));
+                }
+                return part;
+            }));
+        }
+
+        List<Employee> chunk = new ArrayList<>(to - from);
+        for (Future<List<Employee>> part : parts) {
+            chunk.addAll(part.get());
+        }
+        return chunk;
+    }
+
+    private void insert(List<Employee> chunk, ExecutorService workers)
+            throws InterruptedException, ExecutionException {
+        List<Future<?>> batches = new ArrayList<>();
+        for (int start = 0; start < chunk.size(); start += this.batchSize) {
+            List<Employee> batch = chunk.subList(start, Math.min(start + this.batchSize, chunk.size()));
+            batches.add(workers.submit(() -> this.employeeService.importWithContracts(batch)));
+        }
+        for (Future<?> batch : batches) {
+            batch.get();
+        }
+    }
+
+    private Employee generateEmployee(int index, List<Department> depts) {
+        SeedRandom rng = this.random.get();
+        rng.random.setSeed(this.seed * 1_000_003L + index);
+        Faker faker = rng.faker;
+
+        Employee e = new Employee();
+        e.setFirstName(faker.name().firstName());
+        e.setLastName(faker.name().lastName());
+        e.setDateOfBirth(this.asOf.minusYears(faker.number().numberBetween(20, 61))
+                .minusDays(faker.number().numberBetween(0, 365)));
+        Department dept = depts.get(faker.number().numberBetween(0, depts.size()));
+        seedCareer(e, dept, faker);
+        return e;
+    }
+
+    private void seedCareer(Employee e, Department dept, Faker faker) {
+        LocalDate firstStart = generateFirstStart(e.getDateOfBirth(), faker);
 
         String[] titles = jobTitlesFor(dept);
         float baseSalary = baseSalaryFor(dept);
 
         int level = 0;
 
-        CreateContractDto firstContract = new CreateContractDto(
-                titles[level],
-                baseSalary,
-                firstStart,
-                null,
-                e.getId(),
-                dept.getId());
-        contractService.createContract(firstContract);
+        List<Contract> career = new ArrayList<>();
+        career.add(newContract(e, dept, titles[level], baseSalary, firstStart));
 
         LocalDate currentYear = firstStart.plusYears(1);
         int yearsInRole = 1;
 
-        while (currentYear.isBefore(LocalDate.now()) && level < titles.length - 1) {
-            boolean promoted = shouldPromote(level, yearsInRole);
+        while (currentYear.isBefore(this.asOf) && level < titles.length - 1) {
+            boolean promoted = shouldPromote(level, yearsInRole, faker);
 
             if (promoted) {
                 level++;
@@ -104,14 +187,7 @@ public class DevDataSeeder implements CommandLineRunner {
                 float multiplier = 1 + (faker.number().numberBetween(20, 31) / 100.0f);
                 float newSalary = baseSalary * (float) Math.pow(multiplier, level);
 
-                CreateContractDto dto = new CreateContractDto(
-                        titles[level],
-                        newSalary,
-                        currentYear,
-                        null,
-                        e.getId(),
-                        dept.getId());
-                contractService.createContract(dto);
+                career.add(newContract(e, dept, titles[level], newSalary, currentYear));
 
                 yearsInRole = 0;
             }
@@ -119,23 +195,48 @@ public class DevDataSeeder implements CommandLineRunner {
             currentYear = currentYear.plusYears(1);
             yearsInRole++;
         }
+
+        // same shape ContractService.createContract leaves behind: each promotion closes the previous contract
+        for (int i = 0; i < career.size() - 1; i++) {
+            Contract previous = career.get(i);
+            previous.setEndDate(career.get(i + 1).getStartDate().minusDays(1));
+            previous.setActive(false);
+        }
+        e.getContracts().addAll(career);
     }
 
-    private LocalDate generateFirstStart(LocalDate dateOfBirth) {
+    private Contract newContract(Employee e, Department dept, String jobTitle, float salary, LocalDate start) {
+        Contract contract = new Contract();
+        contract.setEmployee(e);
+        contract.setDepartment(dept);
+        contract.setJobTitle(jobTitle);
+        contract.setSalary(salary);
+        contract.setStartDate(start);
+        contract.setActive(true);
+        return contract;
+    }
+
+    private LocalDate generateFirstStart(LocalDate dateOfBirth, Faker faker) {
         LocalDate earliest = dateOfBirth.plusYears(18);
-        LocalDate latest = LocalDate.now();
+        LocalDate latest = this.asOf;
         long careerYears = ChronoUnit.YEARS.between(earliest, latest);
         int offsetYears = faker.number().numberBetween(0, (int) careerYears + 1);
         return latest.minusYears(offsetYears).withDayOfMonth(1);
     }
 
-    private boolean shouldPromote(int level, int yearsInRole) {
+    private boolean shouldPromote(int level, int yearsInRole, Faker faker) {
         int chance = 10 + (yearsInRole - 1) * 10;
         chance = Math.max(chance - level * 10, 5);
         chance = Math.min(chance, 70);
         return faker.number().numberBetween(0, 100) < chance;
     }
 
+    private void logProgress(int employees, long contracts, long started) {
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        log.info("Seeded {}/{} employees and {} contracts in {}s ({} rows/s)", employees, this.employeeCount,
+                contracts, String.format("%.1f", seconds), String.format("%.0f", (employees + contracts) / seconds));
+    }
+
     private String[] jobTitlesFor(Department dept) {
         return switch (dept.getName()) {
             case "Engineering" -> new String[] {
@@ -160,4 +261,9 @@ public class DevDataSeeder implements CommandLineRunner {
         };
     }
 
+    private static class SeedRandom {
+        private final Random random = new Random();
+        private final Faker faker = new Faker(new Locale("en-AU"), random);
+    }
+
 }
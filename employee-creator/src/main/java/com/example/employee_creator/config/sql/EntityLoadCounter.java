@@ -0,0 +1,32 @@
+package com.example.employee_creator.config.sql;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// counts entities hydrated per request, the usual signature of an N+1
+@Component
+@ConditionalOnProperty(name = "app.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class EntityLoadCounter implements PostLoadEventListener {
+
+    public EntityLoadCounter(EntityManagerFactory emf) {
+        emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.entityLoaded();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.employee_creator.config.sql;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-request SQL statement counts and timing, a cheap alternative to
+ * Hibernate's SQL logging that can stay on in production.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig implements WebMvcConfigurer {
+    private final MeterRegistry registry;
+    private final int statementBudget;
+
+    public SqlInstrumentationConfig(MeterRegistry registry,
+            @Value("${app.sql-stats.statement-budget:20}") int statementBudget) {
+        this.registry = registry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Bean
+    static HibernatePropertiesCustomizer sqlStatementListener() {
+        return props -> props.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                SqlStatementListener.class.getName());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatsInterceptor(this.registry, this.statementBudget));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.employee_creator.config.sql;
+
+/**
+ * JDBC work done on behalf of the current HTTP request. Bound to the request
+ * thread by {@link SqlStatsInterceptor} and filled in by Hibernate listeners;
+ * statements run on other threads (e.g. async exports) are not attributed.
+ */
+public final class SqlRequestStats {
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long dbNanos;
+    private int entityLoads;
+
+    private SqlRequestStats() {
+    }
+
+    static SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(long nanos) {
+        this.statements++;
+        this.dbNanos += nanos;
+    }
+
+    void entityLoaded() {
+        this.entityLoads++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+}
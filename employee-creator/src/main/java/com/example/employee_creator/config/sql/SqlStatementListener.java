@@ -0,0 +1,39 @@
+package com.example.employee_creator.config.sql;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Attributes every statement and batch execution to the request running it.
+ * Hibernate creates one instance per session, see
+ * {@link SqlInstrumentationConfig}.
+ */
+public class SqlStatementListener implements SessionEventListener {
+    private long executeStarted;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        this.executeStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        this.executeStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.statementExecuted(System.nanoTime() - this.executeStarted);
+        }
+    }
+}
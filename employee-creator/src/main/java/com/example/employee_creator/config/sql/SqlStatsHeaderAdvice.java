@@ -0,0 +1,40 @@
+package com.example.employee_creator.config.sql;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Copies the request's SQL counters into response headers. Runs just before
+ * the body is written, which is the last point headers can still be set.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "app.sql-stats.headers", havingValue = "true")
+public class SqlStatsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            response.getHeaders().set("X-Sql-Statements", String.valueOf(stats.getStatements()));
+            response.getHeaders().set("X-Sql-Time-Ms",
+                    String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getDbNanos())));
+            response.getHeaders().set("X-Entity-Loads", String.valueOf(stats.getEntityLoads()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.employee_creator.config.sql;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Publishes the SQL work of each controller call as metrics tagged by
+ * {@code Controller.method}, and warns when a call runs more statements than
+ * {@code app.sql-stats.statement-budget}.
+ *
+ * A handler that goes async, an export or an event stream, hands its request
+ * thread back to the container before {@link #afterCompletion}; the stats
+ * started for it are dropped there, so the next request the thread serves
+ * starts clean. The dispatch that completes the request is measured on its own.
+ */
+public class SqlStatsInterceptor implements AsyncHandlerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsInterceptor.class);
+
+    private final MeterRegistry registry;
+    private final int statementBudget;
+
+    public SqlStatsInterceptor(MeterRegistry registry, int statementBudget) {
+        this.registry = registry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            SqlRequestStats.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        SqlRequestStats.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null || !(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        SqlRequestStats.clear();
+
+        String name = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        DistributionSummary.builder("app.request.sql.statements").tag("handler", name)
+                .register(this.registry).record(stats.getStatements());
+        Timer.builder("app.request.sql.time").tag("handler", name)
+                .register(this.registry).record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("app.request.entity.loads").tag("handler", name)
+                .register(this.registry).record(stats.getEntityLoads());
+
+        if (stats.getStatements() > this.statementBudget) {
+            Counter.builder("app.request.sql.budget.exceeded").tag("handler", name)
+                    .register(this.registry).increment();
+            log.warn("{} {} ran {} SQL statements ({} ms, {} entity loads), budget is {}", request.getMethod(),
+                    request.getRequestURI(), stats.getStatements(), TimeUnit.NANOSECONDS.toMillis(stats.getDbNanos()),
+                    stats.getEntityLoads(), this.statementBudget);
+        }
+    }
+}
@@ -1,13 +1,34 @@
 package com.example.employee_creator.contract;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import com.example.employee_creator.contract.dtos.ContractDto;
 import com.example.employee_creator.contract.entities.Contract;
 import com.example.employee_creator.employee.entities.Employee;
 
 public interface ContractRepository extends JpaRepository<Contract, Long> {
 
-    Optional<Contract> findTopByEmployeeOrderByStartDateDesc(Employee employee);
+    // id breaks ties between contracts starting the same day, so the one added last counts as latest
+    Optional<Contract> findTopByEmployeeOrderByStartDateDescIdDesc(Employee employee);
+
+    List<Contract> findByEmployeeOrderByStartDateAscIdAsc(Employee employee);
+
+    // which career a write to this contract has to lock, without loading it
+    @Query("select c.employee.id from Contract c where c.id = :id")
+    Optional<Long> findEmployeeIdById(Long id);
+
+    // straight into DTOs, nothing enters the persistence context
+    @Query("""
+            select new com.example.employee_creator.contract.dtos.ContractDto(
+                c.id, d.name, c.jobTitle, c.salary, c.startDate, c.endDate, c.isActive)
+            from Contract c
+            join c.department d
+            where c.employee.id = :employeeId
+            order by c.startDate, c.id
+            """)
+    List<ContractDto> findHistoryByEmployeeId(Long employeeId);
 }
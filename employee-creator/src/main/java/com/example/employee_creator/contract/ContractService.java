@@ -1,47 +1,107 @@
 package com.example.employee_creator.contract;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.employee_creator.analytics.PromotionService;
+import com.example.employee_creator.analytics.dtos.CareerRowDto;
+import com.example.employee_creator.contract.dtos.CareerContractDto;
+import com.example.employee_creator.contract.dtos.ContractDto;
 import com.example.employee_creator.contract.dtos.CreateContractDto;
 import com.example.employee_creator.contract.dtos.UpdateContractDto;
 import com.example.employee_creator.contract.entities.Contract;
 import com.example.employee_creator.department.DepartmentService;
 import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.CurrentPositionService;
 import com.example.employee_creator.employee.EmployeeService;
 import com.example.employee_creator.employee.entities.Employee;
+import com.example.employee_creator.events.ChangeEvent.Action;
+import com.example.employee_creator.events.ChangeEvent.Entity;
+import com.example.employee_creator.events.ChangeEventBus;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
 
+/**
+ * Every change to a career starts by locking the employee's row, see
+ * {@link EmployeeService#lockCareer}, so two transactions rewriting the same
+ * career run one after the other instead of leaving, say, two active
+ * contracts behind.
+ */
 @Service
 @Transactional
 public class ContractService {
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+
     private final ContractRepository repo;
     private final EmployeeService employeeService;
     private final DepartmentService departmentService;
+    private final CurrentPositionService positionService;
+    private final PromotionService promotionService;
+    private final ChangeEventBus events;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final Counter retries;
+
+    // careers of employees sharing a stripe are written one at a time in this instance
+    private final ReentrantLock[] careerLocks;
 
     public ContractService(ContractRepository repo, EmployeeService employeeService,
-            DepartmentService departmentService) {
+            DepartmentService departmentService, CurrentPositionService positionService,
+            PromotionService promotionService, ChangeEventBus events,
+            TransactionTemplate transactionTemplate, Validator validator, MeterRegistry registry,
+            @Value("${app.contracts.lock-stripes:64}") int lockStripes) {
         this.repo = repo;
         this.employeeService = employeeService;
         this.departmentService = departmentService;
+        this.positionService = positionService;
+        this.promotionService = promotionService;
+        this.events = events;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.retries = Counter.builder("app.contract.write.retries").register(registry);
+        this.careerLocks = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            this.careerLocks[i] = new ReentrantLock();
+        }
     }
 
+    /**
+     * Ends the employee's latest contract the day before the new one starts, if
+     * it would overlap, and adds the new one. Runs in its own transaction, retried
+     * from scratch on lock timeouts, deadlocks and failed version checks.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Contract createContract(CreateContractDto data) {
+        return writeCareer(data.employeeId(), () -> insertContract(data));
+    }
+
+    private Contract insertContract(CreateContractDto data) {
         Department department = this.departmentService.findById(data.departmentId())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid department"));
+        Long version = this.employeeService.lockCareer(data.employeeId());
         Employee employee = this.employeeService.findById(data.employeeId())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid Employee"));
 
-        this.repo.findTopByEmployeeOrderByStartDateDesc(employee).ifPresent(c -> {
-            if (c.getEndDate() == null || c.getEndDate().isAfter(data.startDate())) {
-                c.setEndDate(data.startDate().minusDays(1));
-                c.setActive(false);
-                this.repo.save(c);
-            }
-        });
+        this.repo.findTopByEmployeeOrderByStartDateDescIdDesc(employee)
+                .ifPresent(latest -> closeOut(latest, data.startDate()));
 
         Contract newContract = new Contract();
         newContract.setEmployee(employee);
@@ -54,28 +114,157 @@ public class ContractService {
             newContract.setEndDate(data.endDate());
         }
         this.repo.saveAndFlush(newContract);
+        this.syncDerived(employee, version);
+        this.events.publish(Entity.CONTRACT, Action.CREATED, newContract.getId(), employee.getId());
         return newContract;
     }
 
+    /**
+     * Appends a whole career, ordered by start date, in one transaction. Date
+     * ranges are checked in memory before anything is written; a missing end
+     * date is the day before the next contract starts, and only the last
+     * contract stays active unless it has already ended. The employee's latest
+     * existing contract is closed out once and the new ones go in as a single
+     * JDBC batch, so the cost no longer grows by a round trip per promotion.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Contract> importCareer(Long employeeId, List<CareerContractDto> career) {
+        List<String> errors = validateCareer(career);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+
+        Map<Long, Department> departments = new HashMap<>();
+        for (CareerContractDto item : career) {
+            departments.computeIfAbsent(item.departmentId(), id -> this.departmentService.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid department " + id)));
+        }
+        return writeCareer(employeeId, () -> insertCareer(employeeId, career, departments));
+    }
+
+    private List<String> validateCareer(List<CareerContractDto> career) {
+        List<String> errors = new ArrayList<>();
+        if (career.isEmpty()) {
+            errors.add("career must contain at least one contract");
+        }
+        for (int i = 0; i < career.size(); i++) {
+            CareerContractDto item = career.get(i);
+            if (item == null) {
+                errors.add("[" + i + "] must not be null");
+                continue;
+            }
+            int index = i;
+            this.validator.validate(item).stream()
+                    .map(v -> "[" + index + "]." + v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .forEach(errors::add);
+            if (item.startDate() == null) {
+                continue;
+            }
+            if (item.endDate() != null && item.endDate().isBefore(item.startDate())) {
+                errors.add("[" + i + "].endDate must not be before its startDate");
+            }
+            CareerContractDto next = i + 1 < career.size() ? career.get(i + 1) : null;
+            if (next == null || next.startDate() == null) {
+                continue;
+            }
+            if (!next.startDate().isAfter(item.startDate())) {
+                errors.add("[" + (i + 1) + "].startDate must be after " + item.startDate());
+            } else if (item.endDate() != null && !item.endDate().isBefore(next.startDate())) {
+                errors.add("[" + i + "] overlaps [" + (i + 1) + "], which starts " + next.startDate());
+            }
+        }
+        return errors;
+    }
+
+    private List<Contract> insertCareer(Long employeeId, List<CareerContractDto> career,
+            Map<Long, Department> departments) {
+        Long version = this.employeeService.lockCareer(employeeId);
+        Employee employee = this.employeeService.findById(employeeId)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid Employee"));
+
+        LocalDate firstStart = career.get(0).startDate();
+        Optional<Contract> latest = this.repo.findTopByEmployeeOrderByStartDateDescIdDesc(employee);
+        if (latest.isPresent()) {
+            if (!firstStart.isAfter(latest.get().getStartDate())) {
+                throw new IllegalArgumentException("career must start after the employee's latest contract, "
+                        + "which starts " + latest.get().getStartDate());
+            }
+            closeOut(latest.get(), firstStart);
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Contract> contracts = new ArrayList<>(career.size());
+        for (int i = 0; i < career.size(); i++) {
+            CareerContractDto item = career.get(i);
+            boolean last = i == career.size() - 1;
+            LocalDate endDate = item.endDate() != null || last
+                    ? item.endDate()
+                    : career.get(i + 1).startDate().minusDays(1);
+
+            Contract contract = new Contract();
+            contract.setEmployee(employee);
+            contract.setDepartment(departments.get(item.departmentId()));
+            contract.setStartDate(item.startDate());
+            contract.setEndDate(endDate);
+            contract.setJobTitle(item.jobTitle().trim());
+            contract.setSalary(item.salary());
+            contract.setActive(last && (endDate == null || !endDate.isBefore(today)));
+            contracts.add(contract);
+        }
+        // flushed as one batched insert by the career query in syncDerived
+        this.repo.saveAll(contracts);
+        this.syncDerived(employee, version);
+        contracts.forEach(c -> this.events.publish(Entity.CONTRACT, Action.CREATED, c.getId(), employeeId));
+        return contracts;
+    }
+
+    @Transactional(readOnly = true)
     public long getCount() {
         return this.repo.count();
     }
 
+    @Transactional(readOnly = true)
+    public List<ContractDto> findHistory(Long employeeId) {
+        return this.repo.findHistoryByEmployeeId(employeeId);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Contract> findById(Long id) {
         return this.repo.findById(id);
     }
 
+    /**
+     * Patches a contract in its own transaction, retried like
+     * {@link #createContract}; empty when there is no such contract.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<Contract> updateById(Long id, UpdateContractDto data) {
-        Department department = this.departmentService.findById(data.departmentId())
-                .orElseThrow(() -> new IllegalArgumentException("Invalid department"));
-        Employee employee = this.employeeService.findById(data.employeeId())
-                .orElseThrow(() -> new IllegalArgumentException("Invalid Employee"));
+        Optional<Long> employeeId = this.repo.findEmployeeIdById(id);
+        if (employeeId.isEmpty()) {
+            return Optional.empty();
+        }
+        return writeCareer(employeeId.get(), () -> patchContract(id, employeeId.get(), data));
+    }
 
-        Contract found = this.findById(id).orElse(null);
+    // the contract is read only once the career is locked, so the patch applies to what the last writer left
+    private Optional<Contract> patchContract(Long id, Long employeeId, UpdateContractDto data) {
+        Long version = this.employeeService.lockCareer(employeeId);
+        Contract found = this.repo.findById(id).orElse(null);
         if (found == null) {
             return Optional.empty();
         }
 
+        // only resolve references the patch actually changes
+        if (data.departmentId() != null && !data.departmentId().equals(found.getDepartment().getId())) {
+            found.setDepartment(this.departmentService.findById(data.departmentId())
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid department")));
+        }
+        if (data.employeeId() != null && !data.employeeId().equals(found.getEmployee().getId())) {
+            this.employeeService.findById(data.employeeId())
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid Employee"));
+        }
+
         if (data.jobTitle() != null) {
             found.setJobTitle(data.jobTitle().trim());
         }
@@ -91,18 +280,94 @@ public class ContractService {
         }
 
         this.repo.saveAndFlush(found);
+        this.syncDerived(found.getEmployee(), version);
+        this.events.publish(Entity.CONTRACT, Action.UPDATED, id, employeeId);
 
         return Optional.of(found);
     }
 
+    /**
+     * Deletes a contract in its own transaction, retried like
+     * {@link #createContract}; false when there is no such contract.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean deleteById(Long id) {
-        Contract found = this.findById(id).orElse(null);
+        Optional<Long> employeeId = this.repo.findEmployeeIdById(id);
+        if (employeeId.isEmpty()) {
+            return false;
+        }
+        return writeCareer(employeeId.get(), () -> removeContract(id, employeeId.get()));
+    }
+
+    private boolean removeContract(Long id, Long employeeId) {
+        Long version = this.employeeService.lockCareer(employeeId);
+        Contract found = this.repo.findById(id).orElse(null);
         if (found == null) {
             return false;
         }
         this.repo.delete(found);
+        this.syncDerived(found.getEmployee(), version);
+        this.events.publish(Entity.CONTRACT, Action.DELETED, id, employeeId);
 
         return true;
     }
 
+    // runs the write in its own transaction, retried from scratch on lock timeouts, deadlocks and failed version checks
+    private <T> T writeCareer(Long employeeId, Supplier<T> write) {
+        ReentrantLock lock = careerLock(employeeId);
+        if (lock != null) {
+            lock.lock();
+        }
+        try {
+            for (int attempt = 1;; attempt++) {
+                try {
+                    return this.transactionTemplate.execute(status -> write.get());
+                } catch (ConcurrencyFailureException e) {
+                    if (attempt >= MAX_WRITE_ATTEMPTS) {
+                        throw e;
+                    }
+                    this.retries.increment();
+                    // jittered, so writers that just collided don't collide again
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(
+                            ThreadLocalRandom.current().nextLong(1, 5L << attempt)));
+                }
+            }
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+        }
+    }
+
+    // ends an overlapping contract the day before its successor starts
+    private void closeOut(Contract contract, LocalDate nextStart) {
+        if (contract.getEndDate() == null || contract.getEndDate().isAfter(nextStart)) {
+            contract.setEndDate(nextStart.minusDays(1));
+            contract.setActive(false);
+            this.repo.save(contract);
+            this.events.publish(Entity.CONTRACT, Action.UPDATED, contract.getId(), contract.getEmployee().getId());
+        }
+    }
+
+    private ReentrantLock careerLock(Long employeeId) {
+        if (this.careerLocks.length == 0 || employeeId == null) {
+            return null;
+        }
+        return this.careerLocks[Math.floorMod(employeeId.hashCode(), this.careerLocks.length)];
+    }
+
+    // keeps the read models fed from the employee's career in step, from a single history query;
+    // version is what lockCareer returned, and orders the in-memory ones by commit
+    private void syncDerived(Employee employee, long version) {
+        List<Contract> career = this.repo.findByEmployeeOrderByStartDateAscIdAsc(employee);
+        Contract active = null;
+        for (Contract c : career) {
+            if (c.isActive()) {
+                active = c;
+            }
+        }
+        this.positionService.sync(employee.getId(), version, active);
+        this.promotionService.refresh(employee.getId(), career.stream().map(CareerRowDto::fromEntity).toList());
+    }
+
 }
@@ -0,0 +1,20 @@
+package com.example.employee_creator.contract.dtos;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+// one step of a career imported in a single request, the employee comes from the path
+public record CareerContractDto(
+        @NotBlank String jobTitle,
+        @NotNull @DecimalMin(value = "10000.00", inclusive = true) Float salary,
+        @NotNull LocalDate startDate,
+        LocalDate endDate,
+        @NotNull @Min(1) Long departmentId
+
+) {
+
+}
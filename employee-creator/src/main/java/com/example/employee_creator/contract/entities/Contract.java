@@ -8,11 +8,15 @@ import com.example.employee_creator.employee.entities.Employee;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "contracts")
+@Table(name = "contracts", indexes = {
+        @Index(name = "idx_contracts_employee_start", columnList = "employee_id, start_date, id"),
+        @Index(name = "idx_contracts_active_employee", columnList = "is_active, employee_id, start_date")
+})
 public class Contract extends BaseEntity {
 
     @Column
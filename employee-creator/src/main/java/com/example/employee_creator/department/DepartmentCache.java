@@ -0,0 +1,137 @@
+package com.example.employee_creator.department;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.employee_creator.config.datasource.PrimaryReads;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.events.ChangeEvent.Entity;
+import com.example.employee_creator.events.ChangeEventBus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Departments are few and almost never change, so lookups by id and by name are
+ * served from memory. Entries are immutable snapshots and every lookup gets a
+ * detached {@link Department} of its own, fine as the target of a new
+ * association; no entity instance is shared between callers or threads.
+ *
+ * The cache is cleared once a department write commits; clearing it any
+ * earlier would let a concurrent lookup load the old row straight back in. A
+ * load that was already running when the cache was cleared may have read the
+ * old row, so it is only stored if no clear happened since it started. Misses
+ * are loaded from the primary in a transaction of their own, see
+ * {@link PrimaryReads}, whatever the caller's transaction is reading from.
+ */
+@Component
+class DepartmentCache {
+    private final DepartmentRepository repo;
+    private final TransactionTemplate loads;
+    private final ConcurrentHashMap<Long, Snapshot> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> idByName = new ConcurrentHashMap<>();
+    // bumped by every clear, written under the cache's lock
+    private volatile long generation;
+
+    private final Counter idHits;
+    private final Counter idMisses;
+    private final Counter nameHits;
+    private final Counter nameMisses;
+
+    DepartmentCache(DepartmentRepository repo, ChangeEventBus events, PlatformTransactionManager transactionManager,
+            MeterRegistry registry) {
+        this.repo = repo;
+        this.loads = new TransactionTemplate(transactionManager);
+        this.loads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loads.setReadOnly(true);
+        events.subscribe(event -> {
+            if (event.entity() == Entity.DEPARTMENT) {
+                invalidate();
+            }
+        });
+        this.idHits = counter(registry, "id", "hit");
+        this.idMisses = counter(registry, "id", "miss");
+        this.nameHits = counter(registry, "name", "hit");
+        this.nameMisses = counter(registry, "name", "miss");
+    }
+
+    Optional<Department> findById(Long id) {
+        Snapshot cached = this.byId.get(id);
+        if (cached != null) {
+            this.idHits.increment();
+            return Optional.of(cached.toEntity());
+        }
+        this.idMisses.increment();
+        long loadedAt = this.generation;
+        return load(() -> this.repo.findById(id)).map(d -> put(loadedAt, d).toEntity());
+    }
+
+    Optional<Long> findIdByName(String name) {
+        String key = normalize(name);
+        Long cached = this.idByName.get(key);
+        if (cached != null) {
+            this.nameHits.increment();
+            return Optional.of(cached);
+        }
+        this.nameMisses.increment();
+        long loadedAt = this.generation;
+        return load(() -> this.repo.findByNameIgnoreCase(name.trim())).map(d -> put(loadedAt, d).id());
+    }
+
+    private Optional<Department> load(Supplier<Optional<Department>> query) {
+        return PrimaryReads.read(() -> this.loads.execute(status -> query.get()));
+    }
+
+    private synchronized void invalidate() {
+        this.generation++;
+        this.byId.clear();
+        this.idByName.clear();
+    }
+
+    private synchronized Snapshot put(long loadedAt, Department department) {
+        Snapshot snapshot = Snapshot.of(department);
+        if (this.generation == loadedAt) {
+            this.byId.put(snapshot.id(), snapshot);
+            this.idByName.put(normalize(snapshot.name()), snapshot.id());
+        }
+        return snapshot;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter counter(MeterRegistry registry, String key, String result) {
+        return Counter.builder("app.department.cache")
+                .tag("key", key)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record Snapshot(Long id, String name, String description, Instant createdAt, Instant updatedAt,
+            Long version) {
+        static Snapshot of(Department d) {
+            return new Snapshot(d.getId(), d.getName(), d.getDescription(), d.getCreatedAt(), d.getUpdatedAt(),
+                    d.getVersion());
+        }
+
+        Department toEntity() {
+            Department department = new Department();
+            department.setId(this.id);
+            department.setName(this.name);
+            department.setDescription(this.description);
+            department.setCreatedAt(this.createdAt);
+            department.setUpdatedAt(this.updatedAt);
+            department.setVersion(this.version);
+            return department;
+        }
+    }
+}
@@ -1,15 +1,37 @@
 package com.example.employee_creator.department;
 
+import java.util.List;
+
+import org.apache.coyote.BadRequestException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.employee_creator.department.dtos.DepartmentStatsDto;
+
 @RestController
 @RequestMapping("/departments")
 public class DepartmentController {
     private final DepartmentService departmentService;
+    private final DepartmentStatsService statsService;
 
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(DepartmentService departmentService, DepartmentStatsService statsService) {
         this.departmentService = departmentService;
+        this.statsService = statsService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<DepartmentStatsDto>> getAllStats() {
+        return ResponseEntity.ok(this.statsService.findAll());
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<DepartmentStatsDto> getStats(@PathVariable Long id) throws BadRequestException {
+        DepartmentStatsDto stats = this.statsService.findByDepartmentId(id)
+                .orElseThrow(() -> new BadRequestException("Could not find department with id " + id));
+        return ResponseEntity.ok(stats);
     }
 
 }
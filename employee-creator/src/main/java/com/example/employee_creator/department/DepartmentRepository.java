@@ -1,9 +1,27 @@
 package com.example.employee_creator.department;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.example.employee_creator.department.dtos.SalaryEntryDto;
 import com.example.employee_creator.department.entities.Department;
 
+import jakarta.persistence.QueryHint;
+
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+    Optional<Department> findByNameIgnoreCase(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.example.employee_creator.department.dtos.SalaryEntryDto(
+                p.employeeId, p.department.id, p.jobTitle, p.salary)
+            from CurrentPosition p
+            """)
+    Stream<SalaryEntryDto> streamSalaryEntries();
 
 }
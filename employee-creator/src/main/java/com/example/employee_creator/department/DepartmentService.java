@@ -4,33 +4,51 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.employee_creator.department.dtos.CreateDepartmentDto;
 import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.events.ChangeEvent.Action;
+import com.example.employee_creator.events.ChangeEvent.Entity;
+import com.example.employee_creator.events.ChangeEventBus;
 
 @Service
 public class DepartmentService {
     private final DepartmentRepository repo;
+    private final DepartmentCache cache;
+    private final ChangeEventBus events;
 
-    public DepartmentService(DepartmentRepository repo) {
+    public DepartmentService(DepartmentRepository repo, DepartmentCache cache, ChangeEventBus events) {
         this.repo = repo;
+        this.cache = cache;
+        this.events = events;
     }
 
     public Department createDepartment(CreateDepartmentDto data) {
         Department newDepartment = new Department();
         newDepartment.setName(data.name());
         newDepartment.setDescription(data.description());
-        return this.repo.saveAndFlush(newDepartment);
+        Department saved = this.repo.saveAndFlush(newDepartment);
+        this.events.publish(Entity.DEPARTMENT, Action.CREATED, saved.getId(), null);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public Optional<Department> findById(Long id) {
-        return this.repo.findById(id);
+        return this.cache.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Long> findIdByName(String name) {
+        return this.cache.findIdByName(name);
+    }
+
+    @Transactional(readOnly = true)
     public long getCount() {
         return this.repo.count();
     }
 
+    @Transactional(readOnly = true)
     public List<Department> findAll() {
         return this.repo.findAll();
     }
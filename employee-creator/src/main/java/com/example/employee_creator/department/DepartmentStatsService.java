@@ -0,0 +1,204 @@
+package com.example.employee_creator.department;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.employee_creator.department.dtos.DepartmentStatsDto;
+import com.example.employee_creator.department.dtos.JobTitleStatsDto;
+import com.example.employee_creator.department.dtos.SalaryEntryDto;
+import com.example.employee_creator.department.dtos.SalaryStatsDto;
+import com.example.employee_creator.department.entities.Department;
+
+/**
+ * Headcount and salary statistics per department and job title, kept in memory
+ * and adjusted as current positions change, so reads never touch the contract
+ * history. Each department holds one {@link SalarySketch} per job title; the
+ * department totals are the merge of those and are cached until the next change.
+ *
+ * Changes are applied after the writing transaction commits, and carry the
+ * employee's row version: commits to one employee may run their hooks in
+ * either order, and whatever an employee last counted as is only replaced by
+ * a newer version. The whole state is built from {@code current_positions} at
+ * startup, by {@link com.example.employee_creator.employee.CurrentPositionService}
+ * once the positions are backfilled and before any request can change them.
+ */
+@Service
+public class DepartmentStatsService {
+    private static final Logger log = LoggerFactory.getLogger(DepartmentStatsService.class);
+
+    private final DepartmentRepository repo;
+    private final DepartmentCache cache;
+
+    private volatile Map<Long, Stats> byDepartment = new ConcurrentHashMap<>();
+    // what each employee counts as now, null once they have no position, and the version that put it there
+    private volatile Map<Long, Counted> byEmployee = new ConcurrentHashMap<>();
+    // bumped on every change, so a cached list built from older numbers is never served
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot all = new Snapshot(-1, List.of());
+
+    public DepartmentStatsService(DepartmentRepository repo, DepartmentCache cache) {
+        this.repo = repo;
+        this.cache = cache;
+    }
+
+    /**
+     * Counts the employee as {@code entry} from {@code version} of their row on,
+     * null once they have no position.
+     */
+    public void update(Long employeeId, long version, SalaryEntryDto entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(employeeId, version, entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(employeeId, version, entry);
+            }
+        });
+    }
+
+    /**
+     * Empty when the department doesn't exist; zero headcount when nobody works there.
+     */
+    public Optional<DepartmentStatsDto> findByDepartmentId(Long departmentId) {
+        Stats stats = this.byDepartment.get(departmentId);
+        if (stats != null) {
+            return Optional.of(stats.snapshot(departmentId, nameOf(departmentId)));
+        }
+        return this.cache.findById(departmentId)
+                .map(d -> new DepartmentStatsDto(d.getId(), d.getName(), toDto(new SalarySketch()), List.of()));
+    }
+
+    public List<DepartmentStatsDto> findAll() {
+        Snapshot cached = this.all;
+        long current = this.version.get();
+        if (cached.version() == current) {
+            return cached.departments();
+        }
+        List<DepartmentStatsDto> departments = new ArrayList<>();
+        this.byDepartment.forEach((id, stats) -> departments.add(stats.snapshot(id, nameOf(id))));
+        departments.sort(Comparator.comparing(DepartmentStatsDto::departmentId));
+        List<DepartmentStatsDto> result = List.copyOf(departments);
+        this.all = new Snapshot(current, result);
+        return result;
+    }
+
+    // changes applied while this runs are lost when the map is swapped, so nothing may write meanwhile
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, Stats> rebuilt = new ConcurrentHashMap<>();
+        Map<Long, Counted> employees = new ConcurrentHashMap<>();
+        long positions = 0;
+        try (Stream<SalaryEntryDto> entries = this.repo.streamSalaryEntries()) {
+            for (SalaryEntryDto entry : (Iterable<SalaryEntryDto>) entries::iterator) {
+                // older than any write still to come
+                employees.put(entry.employeeId(), new Counted(Long.MIN_VALUE, entry));
+                if (isCounted(entry)) {
+                    rebuilt.computeIfAbsent(entry.departmentId(), id -> new Stats()).add(entry);
+                    positions++;
+                }
+            }
+        }
+        this.byDepartment = rebuilt;
+        this.byEmployee = employees;
+        this.version.incrementAndGet();
+        log.info("Built salary statistics for {} positions in {} departments", positions, rebuilt.size());
+    }
+
+    // one employee's changes run one at a time, under their entry's lock in the map
+    private void apply(Long employeeId, long version, SalaryEntryDto entry) {
+        this.byEmployee.compute(employeeId, (id, current) -> {
+            if (current != null && current.version() >= version) {
+                return current;
+            }
+            SalaryEntryDto removed = current == null ? null : current.entry();
+            if (isCounted(removed)) {
+                Stats stats = this.byDepartment.get(removed.departmentId());
+                if (stats != null) {
+                    stats.remove(removed);
+                }
+            }
+            if (isCounted(entry)) {
+                this.byDepartment.computeIfAbsent(entry.departmentId(), d -> new Stats()).add(entry);
+            }
+            return new Counted(version, entry);
+        });
+        this.version.incrementAndGet();
+    }
+
+    private static boolean isCounted(SalaryEntryDto entry) {
+        return entry != null && entry.departmentId() != null && entry.jobTitle() != null && entry.salary() != null;
+    }
+
+    private String nameOf(Long departmentId) {
+        return this.cache.findById(departmentId).map(Department::getName).orElse(null);
+    }
+
+    private static SalaryStatsDto toDto(SalarySketch sketch) {
+        Double average = sketch.isEmpty() ? null : sketch.sum() / sketch.count();
+        return new SalaryStatsDto(sketch.count(), average,
+                round(sketch.quantile(0)), round(sketch.quantile(0.25)), round(sketch.quantile(0.5)),
+                round(sketch.quantile(0.75)), round(sketch.quantile(0.9)), round(sketch.quantile(1)));
+    }
+
+    // the sketch is only accurate to 1%, so cents would be noise
+    private static Double round(Double value) {
+        return value == null ? null : (double) Math.round(value);
+    }
+
+    private static class Stats {
+        private final TreeMap<String, SalarySketch> byJobTitle = new TreeMap<>();
+        private DepartmentStatsDto snapshot;
+
+        synchronized void add(SalaryEntryDto entry) {
+            this.byJobTitle.computeIfAbsent(entry.jobTitle(), t -> new SalarySketch()).add(entry.salary());
+            this.snapshot = null;
+        }
+
+        synchronized void remove(SalaryEntryDto entry) {
+            SalarySketch sketch = this.byJobTitle.get(entry.jobTitle());
+            if (sketch == null) {
+                return;
+            }
+            sketch.remove(entry.salary());
+            if (sketch.isEmpty()) {
+                this.byJobTitle.remove(entry.jobTitle());
+            }
+            this.snapshot = null;
+        }
+
+        synchronized DepartmentStatsDto snapshot(Long departmentId, String name) {
+            if (this.snapshot == null) {
+                SalarySketch total = new SalarySketch();
+                List<JobTitleStatsDto> jobTitles = new ArrayList<>(this.byJobTitle.size());
+                this.byJobTitle.forEach((title, sketch) -> {
+                    total.merge(sketch);
+                    jobTitles.add(new JobTitleStatsDto(title, toDto(sketch)));
+                });
+                this.snapshot = new DepartmentStatsDto(departmentId, name, toDto(total), List.copyOf(jobTitles));
+            }
+            return this.snapshot;
+        }
+    }
+
+    private record Snapshot(long version, List<DepartmentStatsDto> departments) {
+    }
+
+    private record Counted(long version, SalaryEntryDto entry) {
+    }
+}
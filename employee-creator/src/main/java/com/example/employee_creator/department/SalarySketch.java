@@ -0,0 +1,94 @@
+package com.example.employee_creator.department;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Log-bucketed histogram of salaries, in the style of DDSketch: every value
+ * falls in a bucket whose bounds are within {@value #RELATIVE_ACCURACY} of each
+ * other, so any quantile is reported within that relative error. Size depends
+ * only on the range of salaries, not on how many there are; values can be
+ * removed as well as added, and two sketches merge by adding bucket counts.
+ *
+ * Not thread-safe.
+ */
+final class SalarySketch {
+    static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long count;
+    private double sum;
+
+    void add(double value) {
+        this.buckets.merge(indexOf(value), 1L, Long::sum);
+        this.count++;
+        this.sum += value;
+    }
+
+    // false, and nothing changes, when no value in the same bucket was ever added
+    boolean remove(double value) {
+        int index = indexOf(value);
+        Long current = this.buckets.get(index);
+        if (current == null) {
+            return false;
+        }
+        if (current == 1) {
+            this.buckets.remove(index);
+        } else {
+            this.buckets.put(index, current - 1);
+        }
+        this.count--;
+        this.sum -= value;
+        return true;
+    }
+
+    SalarySketch merge(SalarySketch other) {
+        other.buckets.forEach((index, n) -> this.buckets.merge(index, n, Long::sum));
+        this.count += other.count;
+        this.sum += other.sum;
+        return this;
+    }
+
+    long count() {
+        return this.count;
+    }
+
+    double sum() {
+        return this.sum;
+    }
+
+    boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * The value at quantile {@code q} (0 is the minimum, 1 the maximum), or null
+     * when the sketch is empty.
+     */
+    Double quantile(double q) {
+        if (this.count == 0) {
+            return null;
+        }
+        long rank = (long) Math.floor(q * (this.count - 1));
+        long seen = 0;
+        for (Map.Entry<Integer, Long> bucket : this.buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return valueOf(bucket.getKey());
+            }
+        }
+        return valueOf(this.buckets.lastKey());
+    }
+
+    // salaries are validated to be well above zero, so values below 1 share the lowest bucket
+    private static int indexOf(double value) {
+        return (int) Math.ceil(Math.log(Math.max(value, 1)) / LOG_GAMMA);
+    }
+
+    // the point within the bucket that is equally far, relatively, from both bounds
+    private static double valueOf(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.employee_creator.department.dtos;
+
+import java.util.List;
+
+public record DepartmentStatsDto(Long departmentId, String name, SalaryStatsDto salaries,
+        List<JobTitleStatsDto> jobTitles) {
+}
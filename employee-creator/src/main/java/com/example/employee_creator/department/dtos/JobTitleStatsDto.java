@@ -0,0 +1,4 @@
+package com.example.employee_creator.department.dtos;
+
+public record JobTitleStatsDto(String jobTitle, SalaryStatsDto salaries) {
+}
@@ -0,0 +1,7 @@
+package com.example.employee_creator.department.dtos;
+
+/**
+ * One employee's current position as far as department statistics are concerned.
+ */
+public record SalaryEntryDto(Long employeeId, Long departmentId, String jobTitle, Float salary) {
+}
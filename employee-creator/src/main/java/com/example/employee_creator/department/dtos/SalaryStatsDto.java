@@ -0,0 +1,9 @@
+package com.example.employee_creator.department.dtos;
+
+/**
+ * Active salaries of a group of employees. Percentiles, minimum and maximum
+ * are approximate, within 1% of the true value; the average is exact.
+ */
+public record SalaryStatsDto(long headcount, Double averageSalary, Double minSalary, Double p25Salary,
+        Double medianSalary, Double p75Salary, Double p90Salary, Double maxSalary) {
+}
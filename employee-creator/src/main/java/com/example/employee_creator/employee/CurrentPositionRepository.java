@@ -0,0 +1,40 @@
+package com.example.employee_creator.employee;
+
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.example.employee_creator.employee.dtos.SalaryRankDto;
+import com.example.employee_creator.employee.entities.CurrentPosition;
+
+import jakarta.persistence.QueryHint;
+
+public interface CurrentPositionRepository extends JpaRepository<CurrentPosition, Long> {
+
+    // one row per employee: the latest-starting active contract, the newest one when several start the same day,
+    // as ContractService picks it
+    @Modifying
+    @Query("""
+            insert into CurrentPosition (employeeId, contractId, jobTitle, salary, department)
+            select c.employee.id, c.id, c.jobTitle, c.salary, c.department
+            from Contract c
+            where c.isActive = true
+              and not exists (select c2.id from Contract c2
+                              where c2.employee = c.employee and c2.isActive = true
+                                and (c2.startDate > c.startDate or (c2.startDate = c.startDate and c2.id > c.id)))
+            """)
+    int rebuildFromContracts();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.example.employee_creator.employee.dtos.SalaryRankDto(
+                p.employeeId, p.contractId, p.department.id, p.salary, c.startDate)
+            from CurrentPosition p
+            join Contract c on c.id = p.contractId
+            """)
+    Stream<SalaryRankDto> streamSalaryRanks();
+}
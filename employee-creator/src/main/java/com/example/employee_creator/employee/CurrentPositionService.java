@@ -0,0 +1,134 @@
+package com.example.employee_creator.employee;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.employee_creator.contract.entities.Contract;
+import com.example.employee_creator.department.DepartmentStatsService;
+import com.example.employee_creator.department.dtos.SalaryEntryDto;
+import com.example.employee_creator.employee.dtos.SalaryRankDto;
+import com.example.employee_creator.employee.entities.CurrentPosition;
+
+/**
+ * Keeps {@code current_positions} in step with active contracts and feeds the
+ * in-memory read models built on it.
+ *
+ * Those read models take their snapshot before the web server starts: a write
+ * landing between a snapshot query and the new state going live would
+ * otherwise be lost, or counted twice. After that they are told each
+ * employee's new state along with the employee's row version, which every
+ * write here holds the row lock for and bumps, see
+ * {@link EmployeeService#lockCareer}. The models apply changes after commit,
+ * when two writers to one employee may come back in either order, and keep
+ * only the newest version.
+ */
+@Service
+public class CurrentPositionService implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(CurrentPositionService.class);
+    // the version a deleted employee's last change carries: nothing can follow it
+    public static final long REMOVED = Long.MAX_VALUE;
+
+    private final CurrentPositionRepository repo;
+    private final DepartmentStatsService statsService;
+    private final SalaryLeaderboard leaderboard;
+    private final TransactionTemplate transactionTemplate;
+
+    public CurrentPositionService(CurrentPositionRepository repo, DepartmentStatsService statsService,
+            SalaryLeaderboard leaderboard, TransactionTemplate transactionTemplate) {
+        this.repo = repo;
+        this.statsService = statsService;
+        this.leaderboard = leaderboard;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // runs once every bean exists and before the web server starts taking requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        this.transactionTemplate.executeWithoutResult(status -> rebuildIfEmpty());
+        this.statsService.rebuild();
+        this.leaderboard.rebuild();
+    }
+
+    /**
+     * Points the employee's position at {@code active}, or removes it when the
+     * employee no longer has an active contract. {@code version} is the
+     * employee's row version as this transaction left it.
+     */
+    public void sync(Long employeeId, long version, Contract active) {
+        CurrentPosition position = this.repo.findById(employeeId).orElse(null);
+        SalaryEntryDto before = position == null ? null : salaryEntryOf(position);
+        if (active == null) {
+            if (position != null) {
+                this.repo.delete(position);
+                this.statsService.update(employeeId, version, null);
+                this.leaderboard.update(employeeId, version, null);
+            }
+            return;
+        }
+
+        if (position == null) {
+            position = new CurrentPosition();
+            position.setEmployeeId(employeeId);
+        }
+        position.setContractId(active.getId());
+        position.setDepartment(active.getDepartment());
+        position.setJobTitle(active.getJobTitle());
+        position.setSalary(active.getSalary());
+        this.repo.save(position);
+        SalaryEntryDto after = salaryEntryOf(position);
+        if (!after.equals(before)) {
+            this.statsService.update(employeeId, version, after);
+        }
+        this.leaderboard.update(employeeId, version, salaryRankOf(position, active));
+    }
+
+    // for employees that are known not to have a position yet, skips the lookup in sync
+    public void create(Long employeeId, long version, Contract active) {
+        CurrentPosition position = new CurrentPosition();
+        position.setEmployeeId(employeeId);
+        position.setContractId(active.getId());
+        position.setDepartment(active.getDepartment());
+        position.setJobTitle(active.getJobTitle());
+        position.setSalary(active.getSalary());
+        this.repo.save(position);
+        this.statsService.update(employeeId, version, salaryEntryOf(position));
+        this.leaderboard.update(employeeId, version, salaryRankOf(position, active));
+    }
+
+    // for employees being deleted
+    public void remove(Long employeeId) {
+        this.repo.findById(employeeId).ifPresent(position -> {
+            this.repo.delete(position);
+            this.statsService.update(employeeId, REMOVED, null);
+            this.leaderboard.update(employeeId, REMOVED, null);
+        });
+    }
+
+    // backfills databases that had contracts before the read model existed
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (this.repo.count() > 0) {
+            return;
+        }
+        int rows = this.repo.rebuildFromContracts();
+        if (rows > 0) {
+            log.info("Rebuilt {} current positions from contract history", rows);
+        }
+    }
+
+    private static SalaryEntryDto salaryEntryOf(CurrentPosition position) {
+        Long departmentId = position.getDepartment() == null ? null : position.getDepartment().getId();
+        return new SalaryEntryDto(position.getEmployeeId(), departmentId, position.getJobTitle(),
+                position.getSalary());
+    }
+
+    private static SalaryRankDto salaryRankOf(CurrentPosition position, Contract active) {
+        Long departmentId = position.getDepartment() == null ? null : position.getDepartment().getId();
+        return new SalaryRankDto(position.getEmployeeId(), position.getContractId(), departmentId,
+                position.getSalary(), active.getStartDate());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.employee_creator.employee;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out unique work emails of the form {@code first.last@example.com},
+ * then {@code first.last2@example.com}, {@code first.last3@example.com}...
+ *
+ * Each base keeps an in-memory counter seeded once from the highest suffix in
+ * the database, so allocating is O(1) however many namesakes exist. The unique
+ * constraint on {@code employees.email} is the final arbiter: callers that hit
+ * it, as told by {@link #isEmailTaken}, should {@link #reseed} and try again.
+ */
+@Component
+public class EmailAllocator {
+    static final String DOMAIN = "@example.com";
+    private static final String EMAIL_CONSTRAINT = "uk_employees_email";
+
+    private final EmployeeRepository repo;
+    private final ConcurrentHashMap<String, AtomicInteger> nextSuffix = new ConcurrentHashMap<>();
+
+    public EmailAllocator(EmployeeRepository repo) {
+        this.repo = repo;
+    }
+
+    public String allocate(String firstName, String lastName) {
+        String base = baseOf(firstName, lastName);
+        int suffix = this.nextSuffix.computeIfAbsent(base, this::seed).getAndIncrement();
+        return emailOf(base, suffix);
+    }
+
+    // drops the cached counter so the next allocation re-reads the database
+    public void reseed(String firstName, String lastName) {
+        this.nextSuffix.remove(baseOf(firstName, lastName));
+    }
+
+    /**
+     * Whether {@code e} is the unique constraint on {@code employees.email}
+     * turning an address down, rather than anything a retry wouldn't fix.
+     */
+    static boolean isEmailTaken(DataAccessException e) {
+        // the constraint name as the dialect extracted it, else the driver's message, which names it too
+        String violated = e.getCause() instanceof ConstraintViolationException cve && cve.getConstraintName() != null
+                ? cve.getConstraintName()
+                : e.getMostSpecificCause().getMessage();
+        return violated != null && violated.toLowerCase(Locale.ROOT).contains(EMAIL_CONSTRAINT);
+    }
+
+    private AtomicInteger seed(String base) {
+        String pattern = "^" + escapeRegex(base) + "[0-9]*" + escapeRegex(DOMAIN) + "$";
+        int highest = this.repo.findHighestNumberedEmail(escapeLike(base) + "%", pattern)
+                .map(email -> suffixOf(base, email))
+                .orElse(0);
+        return new AtomicInteger(highest + 1);
+    }
+
+    static String baseOf(String firstName, String lastName) {
+        return firstName.toLowerCase() + "." + lastName.toLowerCase();
+    }
+
+    // the bare address counts as suffix 1, numbering continues from 2
+    static String emailOf(String base, int suffix) {
+        return suffix <= 1 ? base + DOMAIN : base + suffix + DOMAIN;
+    }
+
+    static int suffixOf(String base, String email) {
+        String digits = email.substring(base.length(), email.length() - DOMAIN.length());
+        return digits.isEmpty() ? 1 : Integer.parseInt(digits);
+    }
+
+    private static String escapeRegex(String s) {
+        return s.replaceAll("[^\\p{L}\\p{N}]", "\\\\$0");
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -3,30 +3,43 @@ package com.example.employee_creator.employee;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.employee_creator.employee.dtos.BatchCreateResultDto;
 import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
 import com.example.employee_creator.employee.dtos.EmployeeDto;
 import com.example.employee_creator.employee.dtos.EmployeeSearchFilterDto;
+import com.example.employee_creator.employee.dtos.EmployeeVersionDto;
 import com.example.employee_creator.employee.dtos.EnrichedEmployeeDto;
 import com.example.employee_creator.employee.dtos.UpdateEmployeeDto;
 import com.example.employee_creator.employee.entities.Employee;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import com.example.employee_creator.common.Cursor;
 import com.example.employee_creator.common.PageResponseAssembler;
 import com.example.employee_creator.common.dtos.PageResponse;
+import com.example.employee_creator.config.ResponseFormat;
+import com.example.employee_creator.contract.ContractService;
+import com.example.employee_creator.contract.dtos.CareerContractDto;
 import com.example.employee_creator.contract.dtos.ContractDto;
+import com.example.employee_creator.contract.entities.Contract;
 
 import jakarta.validation.Valid;
 
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.apache.coyote.BadRequestException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -34,27 +47,65 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/employees")
 @Tag(name = "Employees", description = "Employee management endpoints")
 public class EmployeeController {
+    private static final int MAX_BATCH_ITEMS = 10_000;
+    private static final int MAX_TOP_PAID = 1_000;
+    private static final int MAX_CAREER_CONTRACTS = 1_000;
+
     private final EmployeeService employeeService;
+    private final EmployeeExportService exportService;
     private final PageResponseAssembler prAssembler;
+    private final EmployeeSearchCache searchCache;
+    private final ContractService contractService;
 
-    public EmployeeController(EmployeeService employeeService, PageResponseAssembler prAssembler) {
+    public EmployeeController(EmployeeService employeeService, EmployeeExportService exportService,
+            PageResponseAssembler prAssembler, EmployeeSearchCache searchCache, ContractService contractService) {
         this.employeeService = employeeService;
+        this.exportService = exportService;
         this.prAssembler = prAssembler;
+        this.searchCache = searchCache;
+        this.contractService = contractService;
     }
 
     @GetMapping()
-    public ResponseEntity<PageResponse<EmployeeDto>> getEmployees(@ModelAttribute EmployeeSearchFilterDto filter) {
+    public ResponseEntity<PageResponse<EmployeeDto>> getEmployees(@ModelAttribute EmployeeSearchFilterDto filter)
+            throws BadRequestException {
+        return ResponseEntity.ok(this.searchCache.get(filter, () -> findEmployees(filter)));
+    }
+
+    private PageResponse<EmployeeDto> findEmployees(EmployeeSearchFilterDto filter) throws BadRequestException {
+        if (filter.isCursorMode()) {
+            return getEmployeesByCursor(filter);
+        }
         PageRequest pageable = PageRequest.of(filter.page() - 1, filter.size());
-        Page<Employee> data = this.employeeService.findEmployees(pageable, filter);
-        PageResponse<EmployeeDto> pr = prAssembler.toPageResponse(data, EmployeeDto::fromEntity);
-        return ResponseEntity.ok(pr);
+        Page<EmployeeDto> data = this.employeeService.findEmployees(pageable, filter);
+        return prAssembler.toPageResponse(data, Function.identity());
+    }
 
+    private PageResponse<EmployeeDto> getEmployeesByCursor(EmployeeSearchFilterDto filter)
+            throws BadRequestException {
+        Cursor after;
+        try {
+            after = filter.after() == null || filter.after().isBlank() ? null : Cursor.decode(filter.after());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor " + filter.after());
+        }
+        if (filter.size() < 1) {
+            throw new BadRequestException("size must be at least 1");
+        }
+
+        List<EmployeeDto> rows = this.employeeService.findEmployeesAfter(after, filter.size(), filter);
+        Long total = filter.includeTotal() ? this.employeeService.countEmployees(filter) : null;
+        return prAssembler.toCursorPageResponse(rows, filter.size(), EmployeeSpecifications::cursorOf, total,
+                Function.identity());
     }
 
     @PostMapping()
@@ -63,28 +114,95 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(EmployeeDto.fromEntity(newEmployee));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchCreateResultDto>> createEmployees(@RequestBody List<CreateEmployeeDto> data)
+            throws BadRequestException {
+        if (data.size() > MAX_BATCH_ITEMS) {
+            throw new BadRequestException("Batches are limited to " + MAX_BATCH_ITEMS + " employees");
+        }
+        return ResponseEntity.ok(this.employeeService.createBatch(data));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(defaultValue = "ndjson") String format) throws BadRequestException {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+
+        StreamingResponseBody body = out -> this.exportService.writeExport(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employees." + exportFormat.getExtension())
+                .body(body);
+    }
+
+    @GetMapping("/top-paid")
+    public ResponseEntity<List<EnrichedEmployeeDto>> getTopPaid(@RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String department) throws BadRequestException {
+        if (limit < 1 || limit > MAX_TOP_PAID) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_TOP_PAID);
+        }
+        return ResponseEntity.ok(this.employeeService.findTopPaid(department, limit));
+    }
+
+    // checkNotModified answers If-None-Match with a 304 before anything is loaded, and sets the ETag otherwise
     @GetMapping("/{id}")
-    public ResponseEntity<EnrichedEmployeeDto> getEmployeeById(@PathVariable Long id) throws BadRequestException {
-        Employee found = this.employeeService.findById(id)
+    public ResponseEntity<EnrichedEmployeeDto> getEmployeeById(@PathVariable Long id, WebRequest request)
+            throws BadRequestException {
+        if (request.checkNotModified(findETag(id, request.getHeader(HttpHeaders.ACCEPT)))) {
+            return notModified();
+        }
+        EnrichedEmployeeDto dto = this.employeeService.findEnrichedById(id)
                 .orElseThrow(() -> new BadRequestException("Could not find employee with id " + id));
-        EnrichedEmployeeDto dto = EnrichedEmployeeDto.fromEntity(found);
         return ResponseEntity.ok(dto);
     }
 
     @GetMapping("/{id}/contracts")
-    public ResponseEntity<List<ContractDto>> getContracts(@PathVariable Long id) throws BadRequestException {
-        Employee found = this.employeeService.findById(id)
-                .orElseThrow(() -> new BadRequestException("Could not find employee with id " + id));
-        List<ContractDto> contracts = found.getContracts().stream().map(ContractDto::fromEntity).toList();
-        return ResponseEntity.ok(contracts);
+    public ResponseEntity<List<ContractDto>> getContracts(@PathVariable Long id, WebRequest request)
+            throws BadRequestException {
+        if (request.checkNotModified(findETag(id, request.getHeader(HttpHeaders.ACCEPT)))) {
+            return notModified();
+        }
+        return ResponseEntity.ok(this.contractService.findHistory(id));
+    }
+
+    // the whole career lands or none of it does, so any invalid item fails the request
+    @PostMapping("/{id}/contracts/batch")
+    public ResponseEntity<List<ContractDto>> importContracts(@PathVariable Long id,
+            @RequestBody List<CareerContractDto> career) throws BadRequestException {
+        if (career.size() > MAX_CAREER_CONTRACTS) {
+            throw new BadRequestException("Careers are limited to " + MAX_CAREER_CONTRACTS + " contracts");
+        }
+        List<Contract> created;
+        try {
+            created = this.contractService.importCareer(id, career);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(created.stream().map(ContractDto::fromEntity).toList());
     }
 
+    // If-Match is checked by the update itself, under the employee's row lock, so no write can land in between
     @PatchMapping("/{id}")
     public ResponseEntity<EnrichedEmployeeDto> updateEmployeeById(@PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
             @Valid @RequestBody UpdateEmployeeDto data) throws BadRequestException {
-        Employee updated = this.employeeService.updateById(id, data)
+        try {
+            this.employeeService.updateById(id, data, ifMatch == null ? null : matchedVersions(id, ifMatch))
+                    .orElseThrow(() -> new BadRequestException("Could not find employee with id " + id));
+        } catch (OptimisticLockingFailureException e) {
+            // without If-Match, still losing to concurrent writers after the service's retries
+            HttpStatus status = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+            return ResponseEntity.status(status).eTag(findETag(id, accept)).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        EnrichedEmployeeDto dto = this.employeeService.findEnrichedById(id)
                 .orElseThrow(() -> new BadRequestException("Could not find employee with id " + id));
-        return ResponseEntity.ok(EnrichedEmployeeDto.fromEntity(updated));
+        return ResponseEntity.ok().eTag(findETag(id, accept)).body(dto);
     }
 
     @DeleteMapping("/{id}")
@@ -96,4 +214,35 @@ public class EmployeeController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    // the versions an If-Match list names, null when it is a wildcard and any version will do;
+    // If-Match compares strongly, so a weak tag never matches
+    private static Set<Long> matchedVersions(Long id, String ifMatch) {
+        Set<Long> versions = new HashSet<>();
+        for (ETag tag : ETag.parse(ifMatch)) {
+            if (tag.isWildcard()) {
+                return null;
+            }
+            if (tag.weak()) {
+                continue;
+            }
+            Long version = EmployeeVersionDto.versionOf(id, tag.tag());
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        return versions;
+    }
+
+    // tagged with the representation Accept will get, so each format of a version has a tag of its own
+    private String findETag(Long id, String accept) throws BadRequestException {
+        return this.employeeService.findVersion(id)
+                .orElseThrow(() -> new BadRequestException("Could not find employee with id " + id))
+                .etag(ResponseFormat.negotiate(accept).getTag());
+    }
+
+    // checkNotModified has set the status and the ETag already; caches also need to know the tag depends on Accept
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
 }
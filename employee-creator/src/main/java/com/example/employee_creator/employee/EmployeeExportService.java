@@ -0,0 +1,148 @@
+package com.example.employee_creator.employee;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.employee_creator.contract.dtos.ContractDto;
+import com.example.employee_creator.employee.dtos.EmployeeExportDto;
+import com.example.employee_creator.employee.dtos.EmployeeExportRowDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Streams every employee with their contract history straight from a
+ * forward-only result set to the response. Rows are DTO projections, so
+ * nothing is added to the persistence context and memory stays flat
+ * regardless of export size.
+ *
+ * The fetch size is set on this query alone. MySQL Connector/J only streams
+ * when it is {@code Integer.MIN_VALUE}, see {@code app.export.fetch-size}; any
+ * other value has it read the whole result into memory first.
+ */
+@Service
+public class EmployeeExportService {
+    private static final String[] CSV_HEADER = { "employeeId", "firstName", "lastName", "email", "dateOfBirth",
+            "contractId", "departmentName", "jobTitle", "salary", "startDate", "endDate", "isActive" };
+
+    private static final String EXPORT_QUERY = """
+            select new com.example.employee_creator.employee.dtos.EmployeeExportRowDto(
+                e.id, e.firstName, e.lastName, e.email, e.dateOfBirth,
+                c.id, d.name, c.jobTitle, c.salary, c.startDate, c.endDate, c.isActive)
+            from Employee e
+            left join e.contracts c
+            left join c.department d
+            order by e.id, c.startDate
+            """;
+
+    private final EntityManager em;
+    private final ObjectMapper mapper;
+    private final int fetchSize;
+
+    public EmployeeExportService(EntityManager em, ObjectMapper mapper,
+            @Value("${app.export.fetch-size:-2147483648}") int fetchSize) {
+        this.em = em;
+        this.mapper = mapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public void writeExport(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<EmployeeExportRowDto> rows = streamRows()) {
+            switch (format) {
+                case NDJSON -> writeNdjson(rows.iterator(), writer);
+                case CSV -> writeCsv(rows.iterator(), writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // forward-only; a streaming MySQL result set leaves its connection unusable until it is closed,
+    // so nothing else may run in this transaction while it is open
+    private Stream<EmployeeExportRowDto> streamRows() {
+        return this.em.createQuery(EXPORT_QUERY, EmployeeExportRowDto.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, this.fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    // rows arrive ordered by employee, so each employee's contracts are buffered only until the next employee
+    private void writeNdjson(Iterator<EmployeeExportRowDto> rows, Writer writer) throws IOException {
+        SequenceWriter lines = this.mapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+        EmployeeExportRowDto current = null;
+        List<ContractDto> contracts = new ArrayList<>();
+        while (rows.hasNext()) {
+            EmployeeExportRowDto row = rows.next();
+            if (current != null && !current.id().equals(row.id())) {
+                lines.write(toEmployee(current, contracts));
+                contracts = new ArrayList<>();
+            }
+            current = row;
+            if (row.hasContract()) {
+                contracts.add(row.toContractDto());
+            }
+        }
+        if (current != null) {
+            lines.write(toEmployee(current, contracts));
+            // the separator only goes between values, an empty export stays empty
+            writer.write('\n');
+        }
+        lines.flush();
+    }
+
+    private void writeCsv(Iterator<EmployeeExportRowDto> rows, Writer writer) throws IOException {
+        writer.write(String.join(",", CSV_HEADER));
+        writer.write('\n');
+        while (rows.hasNext()) {
+            EmployeeExportRowDto r = rows.next();
+            writeCsvLine(writer, r.id(), r.firstName(), r.lastName(), r.email(), r.dateOfBirth(), r.contractId(),
+                    r.departmentName(), r.jobTitle(), r.salary(), r.startDate(), r.endDate(), r.isActive());
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvEscape(values[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static EmployeeExportDto toEmployee(EmployeeExportRowDto row, List<ContractDto> contracts) {
+        return new EmployeeExportDto(row.id(), row.firstName(), row.lastName(), row.email(), row.dateOfBirth(),
+                contracts);
+    }
+}
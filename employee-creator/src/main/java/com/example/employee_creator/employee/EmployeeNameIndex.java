@@ -0,0 +1,211 @@
+package com.example.employee_creator.employee;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.employee_creator.employee.dtos.EmployeeNameDto;
+
+/**
+ * In-memory trigram index over "firstName lastName", used to resolve name
+ * searches without the leading-wildcard LIKE scans in
+ * {@link EmployeeSpecifications#fullNameContains}. Matches have the same
+ * semantics: the lowercased full name contains the lowercased term.
+ *
+ * The index is loaded in the background after startup; until then, and for
+ * blank terms or terms shorter than a trigram, {@link #search} returns empty
+ * and callers fall back to SQL. Changes are applied after the writing
+ * transaction commits, so a rolled back write never shows up in searches.
+ */
+@Component
+public class EmployeeNameIndex {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeNameIndex.class);
+    private static final int GRAM = 3;
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final EmployeeRepository repo;
+    private final boolean enabled;
+
+    private final ConcurrentHashMap<Long, String> names = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Set<Long> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready = false;
+
+    public EmployeeNameIndex(EmployeeRepository repo, @Value("${app.name-index.enabled:true}") boolean enabled) {
+        this.repo = repo;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids of every employee whose full name contains {@code term}, in ascending
+     * order, or empty when the index can't answer and SQL should be used instead.
+     */
+    public Optional<List<Long>> search(String term) {
+        if (!ready || term == null || term.isBlank()) {
+            return Optional.empty();
+        }
+        String needle = term.toLowerCase();
+        Set<String> grams = trigrams(needle);
+        if (grams.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Set<Long>> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null || ids.isEmpty()) {
+                return Optional.of(List.of());
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<Long> matches = new ArrayList<>();
+        for (Long id : lists.get(0)) {
+            if (containsAll(lists, id)) {
+                String name = names.get(id);
+                if (name != null && name.contains(needle)) {
+                    matches.add(id);
+                }
+            }
+        }
+        matches.sort(null);
+        return Optional.of(matches);
+    }
+
+    public void put(Long id, String firstName, String lastName) {
+        afterCommit(() -> index(id, firstName, lastName));
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> unindex(id));
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private synchronized void index(Long id, String firstName, String lastName) {
+        if (!enabled) {
+            return;
+        }
+        String name = normalize(firstName, lastName);
+        String previous = names.put(id, name);
+        if (previous != null) {
+            if (previous.equals(name)) {
+                return;
+            }
+            Set<String> stale = trigrams(previous);
+            stale.removeAll(trigrams(name));
+            unlink(id, stale);
+        }
+        for (String gram : trigrams(name)) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private synchronized void unindex(Long id) {
+        if (!ready) {
+            removedWhileLoading.add(id);
+        }
+        String previous = names.remove(id);
+        if (previous != null) {
+            unlink(id, trigrams(previous));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "employee-name-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        try {
+            long afterId = 0;
+            List<EmployeeNameDto> batch;
+            do {
+                batch = repo.findNamesAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (EmployeeNameDto e : batch) {
+                    loadOne(e);
+                    afterId = e.id();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            ready = true;
+            removedWhileLoading.clear();
+            log.info("Indexed {} employee names in {} ms", names.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Employee name index failed to load, name searches will use SQL", e);
+        }
+    }
+
+    // live writes that raced the initial load win over the snapshot being loaded
+    private synchronized void loadOne(EmployeeNameDto e) {
+        if (names.containsKey(e.id()) || removedWhileLoading.contains(e.id())) {
+            return;
+        }
+        index(e.id(), e.firstName(), e.lastName());
+    }
+
+    private void unlink(Long id, Set<String> grams) {
+        for (String gram : grams) {
+            postings.computeIfPresent(gram, (g, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static boolean containsAll(List<Set<Long>> lists, Long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String firstName, String lastName) {
+        return (firstName + " " + lastName).toLowerCase();
+    }
+
+    private static Set<String> trigrams(String s) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= s.length(); i++) {
+            grams.add(s.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
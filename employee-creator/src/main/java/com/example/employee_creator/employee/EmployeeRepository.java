@@ -1,15 +1,69 @@
 package com.example.employee_creator.employee;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.employee_creator.employee.dtos.EmployeeNameDto;
+import com.example.employee_creator.employee.dtos.EmployeeVersionDto;
+import com.example.employee_creator.employee.dtos.EnrichedEmployeeDto;
 
 import com.example.employee_creator.employee.entities.Employee;
 
+import jakarta.persistence.LockModeType;
+
 public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
-    Optional<Employee> findByEmail(String email);
+    // the longest, then lexically greatest, address is the one with the highest numeric suffix
+    @Query(value = "select email from employees where email like :prefix and email regexp :pattern "
+            + "order by char_length(email) desc, email desc limit 1", nativeQuery = true)
+    Optional<String> findHighestNumberedEmail(String prefix, String pattern);
+
+    @Query("""
+            select new com.example.employee_creator.employee.dtos.EnrichedEmployeeDto(
+                e.id, e.firstName, e.lastName, e.dateOfBirth, d.name, p.jobTitle, p.salary)
+            from Employee e
+            left join CurrentPosition p on p.employeeId = e.id
+            left join p.department d
+            where e.id = :id
+            """)
+    Optional<EnrichedEmployeeDto> findEnrichedById(Long id);
+
+    @Query("""
+            select new com.example.employee_creator.employee.dtos.EnrichedEmployeeDto(
+                e.id, e.firstName, e.lastName, e.dateOfBirth, d.name, p.jobTitle, p.salary)
+            from Employee e
+            left join CurrentPosition p on p.employeeId = e.id
+            left join p.department d
+            where e.id in :ids
+            """)
+    List<EnrichedEmployeeDto> findEnrichedByIdIn(Collection<Long> ids);
+
+    // everything an ETag needs, a single primary key lookup
+    @Query("""
+            select new com.example.employee_creator.employee.dtos.EmployeeVersionDto(e.id, e.version)
+            from Employee e
+            where e.id = :id
+            """)
+    Optional<EmployeeVersionDto> findVersionById(Long id);
+
+    // the row lock incrementVersion takes, taken up front by writes that read the employee first
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Employee e where e.id = :id")
+    Optional<Employee> findForUpdateById(Long id);
+
+    // holds the row lock until the transaction ends, and fails anyone still holding the old version
+    @Modifying
+    @Query("update Employee e set e.version = e.version + 1 where e.id = :id")
+    int incrementVersion(Long id);
 
-    List<Employee> findAllByEmailStartingWith(String base);
+    @Query("select new com.example.employee_creator.employee.dtos.EmployeeNameDto(e.id, e.firstName, e.lastName) "
+            + "from Employee e where e.id > :afterId order by e.id")
+    List<EmployeeNameDto> findNamesAfter(Long afterId, Limit limit);
 }
@@ -0,0 +1,173 @@
+package com.example.employee_creator.employee;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.example.employee_creator.common.AggregateVersions;
+import com.example.employee_creator.common.AggregateVersions.Aggregate;
+import com.example.employee_creator.common.dtos.PageResponse;
+import com.example.employee_creator.config.datasource.PrimaryReads;
+import com.example.employee_creator.employee.dtos.EmployeeDto;
+import com.example.employee_creator.employee.dtos.EmployeeSearchFilterDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Finished search pages, keyed on the normalized filter and page. Each entry is
+ * stamped with the {@link AggregateVersions} of what it was read from:
+ * employees always, contracts and departments only when the filter goes
+ * through current positions. A stamp that no longer matches is a miss, so
+ * writes invalidate without scanning. Misses are loaded from the primary, see
+ * {@link PrimaryReads}: a lagging replica would have a page from before a write
+ * stored under a stamp from after it.
+ *
+ * Entries are evicted least recently used first once their estimated size
+ * passes {@code app.search-cache.max-size}.
+ */
+@Component
+class EmployeeSearchCache {
+    // an entry bigger than this share of the budget would push out most of the others
+    private static final int MAX_ENTRY_SHARE = 8;
+
+    private final AggregateVersions versions;
+    private final boolean enabled;
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+    private final Counter evictions;
+
+    EmployeeSearchCache(AggregateVersions versions, MeterRegistry registry,
+            @Value("${app.search-cache.enabled:true}") boolean enabled,
+            @Value("${app.search-cache.max-size:16MB}") DataSize maxSize) {
+        this.versions = versions;
+        this.enabled = enabled;
+        this.maxBytes = maxSize.toBytes();
+
+        this.hits = requests(registry, "hit");
+        this.misses = requests(registry, "miss");
+        this.stale = requests(registry, "stale");
+        this.evictions = Counter.builder("app.employee.search.cache.evictions").register(registry);
+        Gauge.builder("app.employee.search.cache.size", this, c -> c.bytes).baseUnit("bytes").register(registry);
+        Gauge.builder("app.employee.search.cache.entries", this, c -> c.entryCount()).register(registry);
+        Gauge.builder("app.employee.search.cache.hit.ratio", this, EmployeeSearchCache::hitRatio).register(registry);
+    }
+
+    interface Loader<E extends Exception> {
+        PageResponse<EmployeeDto> load() throws E;
+    }
+
+    <E extends Exception> PageResponse<EmployeeDto> get(EmployeeSearchFilterDto filter, Loader<E> loader) throws E {
+        if (!this.enabled) {
+            return loader.load();
+        }
+        String key = keyOf(filter);
+        // sampled before loading, so a write that lands meanwhile leaves this entry outdated rather than wrong
+        long[] stamp = stampOf(filter);
+
+        synchronized (this) {
+            Entry cached = this.entries.get(key);
+            if (cached != null && Arrays.equals(cached.stamp(), stamp)) {
+                this.hits.increment();
+                return cached.page();
+            }
+            if (cached != null) {
+                remove(key);
+                this.stale.increment();
+            } else {
+                this.misses.increment();
+            }
+        }
+
+        PageResponse<EmployeeDto> page = PrimaryReads.read(loader::load);
+        long size = estimateBytes(key, page);
+        if (size <= this.maxBytes / MAX_ENTRY_SHARE) {
+            put(key, new Entry(stamp, page, size));
+        }
+        return page;
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        Entry previous = this.entries.put(key, entry);
+        if (previous != null) {
+            this.bytes -= previous.bytes();
+        }
+        this.bytes += entry.bytes();
+
+        Iterator<Map.Entry<String, Entry>> eldest = this.entries.entrySet().iterator();
+        while (this.bytes > this.maxBytes && eldest.hasNext()) {
+            this.bytes -= eldest.next().getValue().bytes();
+            eldest.remove();
+            this.evictions.increment();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = this.entries.remove(key);
+        if (removed != null) {
+            this.bytes -= removed.bytes();
+        }
+    }
+
+    private synchronized int entryCount() {
+        return this.entries.size();
+    }
+
+    private double hitRatio() {
+        double lookups = this.hits.count() + this.misses.count() + this.stale.count();
+        return lookups == 0 ? 0 : this.hits.count() / lookups;
+    }
+
+    private static String keyOf(EmployeeSearchFilterDto filter) {
+        if (filter.isCursorMode()) {
+            String after = filter.after() == null ? "" : filter.after();
+            return filter.criteriaKey() + "|cursor|" + filter.size() + "|" + after + "|" + filter.includeTotal();
+        }
+        return filter.criteriaKey() + "|page|" + filter.page() + "|" + filter.size();
+    }
+
+    // -1 marks an aggregate the results don't depend on
+    private long[] stampOf(EmployeeSearchFilterDto filter) {
+        boolean byDepartment = filter.department() != null && !filter.department().isBlank();
+        boolean byPosition = byDepartment || "jobTitle".equalsIgnoreCase(filter.searchBy());
+        return new long[] {
+                this.versions.current(Aggregate.EMPLOYEES),
+                byPosition ? this.versions.current(Aggregate.CONTRACTS) : -1,
+                byDepartment ? this.versions.current(Aggregate.DEPARTMENTS) : -1
+        };
+    }
+
+    // rough retained size: object headers and references plus two bytes per character
+    private static long estimateBytes(String key, PageResponse<EmployeeDto> page) {
+        long size = 200 + stringBytes(key) + stringBytes(page.getNextCursor());
+        for (EmployeeDto e : page.getData()) {
+            size += 64 + stringBytes(e.firstName()) + stringBytes(e.lastName()) + stringBytes(e.email());
+        }
+        return size;
+    }
+
+    private static long stringBytes(String s) {
+        return s == null ? 0 : 40 + 2L * s.length();
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("app.employee.search.cache")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record Entry(long[] stamp, PageResponse<EmployeeDto> page, long bytes) {
+    }
+}
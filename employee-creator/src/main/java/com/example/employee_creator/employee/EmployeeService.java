@@ -1,74 +1,412 @@
 package com.example.employee_creator.employee;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.employee_creator.analytics.PromotionService;
+import com.example.employee_creator.analytics.dtos.CareerRowDto;
+import com.example.employee_creator.common.CountCache;
+import com.example.employee_creator.common.Cursor;
+import com.example.employee_creator.contract.entities.Contract;
+import com.example.employee_creator.department.DepartmentService;
+import com.example.employee_creator.employee.dtos.BatchCreateResultDto;
 import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.dtos.EmployeeDto;
 import com.example.employee_creator.employee.dtos.EmployeeSearchFilterDto;
+import com.example.employee_creator.employee.dtos.EmployeeVersionDto;
+import com.example.employee_creator.employee.dtos.EnrichedEmployeeDto;
+import com.example.employee_creator.employee.dtos.SalaryRankDto;
 import com.example.employee_creator.employee.dtos.UpdateEmployeeDto;
 import com.example.employee_creator.employee.entities.Employee;
+import com.example.employee_creator.events.ChangeEvent.Action;
+import com.example.employee_creator.events.ChangeEvent.Entity;
+import com.example.employee_creator.events.ChangeEventBus;
 
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 
 @Service
 public class EmployeeService {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeService.class);
+    static final String EMAIL_TAKEN = "email already taken";
+    static final String NOT_SAVED = "could not be saved";
+    private static final int MAX_EMAIL_ATTEMPTS = 3;
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
     private final EmployeeRepository repo;
+    private final CountCache countCache;
+    private final CurrentPositionService positionService;
+    private final DepartmentService departmentService;
+    private final PromotionService promotionService;
+    private final EmployeeNameIndex nameIndex;
+    private final SalaryLeaderboard leaderboard;
+    private final EmailAllocator emailAllocator;
+    private final ChangeEventBus events;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxIndexCandidates;
+    private final int batchSize;
 
-    public EmployeeService(EmployeeRepository repo) {
+    public EmployeeService(EmployeeRepository repo, CountCache countCache, CurrentPositionService positionService,
+            DepartmentService departmentService, PromotionService promotionService, EmployeeNameIndex nameIndex, SalaryLeaderboard leaderboard,
+            EmailAllocator emailAllocator, ChangeEventBus events, Validator validator,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.name-index.max-candidates:5000}") int maxIndexCandidates,
+            @Value("${app.batch.size:50}") int batchSize) {
         this.repo = repo;
+        this.countCache = countCache;
+        this.positionService = positionService;
+        this.departmentService = departmentService;
+        this.promotionService = promotionService;
+        this.nameIndex = nameIndex;
+        this.leaderboard = leaderboard;
+        this.emailAllocator = emailAllocator;
+        this.events = events;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.maxIndexCandidates = maxIndexCandidates;
+        this.batchSize = batchSize;
     }
 
+    @Transactional(readOnly = true)
     public Optional<Employee> findById(Long id) {
         return this.repo.findById(id);
     }
 
+    /**
+     * Locks the employee's row for the rest of the current transaction and bumps
+     * its version, so changes to one career are written one at a time. Returns
+     * the new version, which orders this transaction after every earlier write
+     * to the employee; null when there is no such employee.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Long lockCareer(Long id) {
+        if (this.repo.incrementVersion(id) == 0) {
+            return null;
+        }
+        return this.repo.findVersionById(id).map(EmployeeVersionDto::version).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EnrichedEmployeeDto> findEnrichedById(Long id) {
+        return this.repo.findEnrichedById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EmployeeVersionDto> findVersion(Long id) {
+        return this.repo.findVersionById(id);
+    }
+
+    /**
+     * The best paid employees by active contract, highest first; a blank department means all of them.
+     */
+    @Transactional(readOnly = true)
+    public List<EnrichedEmployeeDto> findTopPaid(String department, int limit) {
+        Long departmentId = null;
+        if (department != null && !department.isBlank()) {
+            departmentId = this.departmentService.findIdByName(department).orElse(null);
+            if (departmentId == null) {
+                return List.of();
+            }
+        }
+        List<SalaryRankDto> ranked = this.leaderboard.top(departmentId, limit);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, EnrichedEmployeeDto> byId = this.repo
+                .findEnrichedByIdIn(ranked.stream().map(SalaryRankDto::employeeId).toList()).stream()
+                .collect(Collectors.toMap(EnrichedEmployeeDto::id, Function.identity()));
+        return ranked.stream().map(r -> byId.get(r.employeeId())).filter(Objects::nonNull).toList();
+    }
+
     public Employee create(CreateEmployeeDto data) {
-        Employee employee = new Employee();
+        for (int attempt = 1;; attempt++) {
+            Employee employee = newEmployee(data);
+            try {
+                Employee saved = this.repo.saveAndFlush(employee);
+                this.nameIndex.put(saved.getId(), saved.getFirstName(), saved.getLastName());
+                this.events.publish(Entity.EMPLOYEE, Action.CREATED, saved.getId(), saved.getId());
+                return saved;
+            } catch (DataIntegrityViolationException e) {
+                // another writer took the address, start again from what the database has
+                if (!EmailAllocator.isEmailTaken(e) || attempt >= MAX_EMAIL_ATTEMPTS) {
+                    throw e;
+                }
+                this.emailAllocator.reseed(employee.getFirstName(), employee.getLastName());
+            }
+        }
+    }
+
+    /**
+     * Validates each item on its own and inserts the valid ones in JDBC batches of
+     * {@code app.batch.size}, one transaction per batch. Results line up with
+     * {@code items}, so one bad row doesn't fail the rest.
+     */
+    public List<BatchCreateResultDto> createBatch(List<CreateEmployeeDto> items) {
+        BatchCreateResultDto[] results = new BatchCreateResultDto[items.size()];
+        List<Integer> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            CreateEmployeeDto item = items.get(i);
+            if (item == null) {
+                results[i] = BatchCreateResultDto.invalid(i, List.of("item must not be null"));
+                continue;
+            }
+            List<String> errors = this.validator.validate(item).stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .toList();
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = BatchCreateResultDto.invalid(i, errors);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += this.batchSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + this.batchSize, valid.size()));
+            insertChunk(items, chunk, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    private void insertChunk(List<CreateEmployeeDto> items, List<Integer> chunk, BatchCreateResultDto[] results) {
+        for (int attempt = 1;; attempt++) {
+            List<Employee> employees = chunk.stream().map(i -> newEmployee(items.get(i))).toList();
+            try {
+                this.transactionTemplate.executeWithoutResult(status -> this.repo.saveAll(employees));
+            } catch (DataAccessException e) {
+                // another writer took one of the addresses, allocate the chunk again from what the database has
+                if (EmailAllocator.isEmailTaken(e)) {
+                    employees.forEach(emp -> this.emailAllocator.reseed(emp.getFirstName(), emp.getLastName()));
+                    if (attempt < MAX_EMAIL_ATTEMPTS) {
+                        continue;
+                    }
+                }
+                // the batch can't tell which row failed, so each goes in on its own and only that one fails
+                insertOneByOne(items, chunk, results);
+                return;
+            }
+
+            for (int k = 0; k < chunk.size(); k++) {
+                Employee saved = employees.get(k);
+                this.nameIndex.put(saved.getId(), saved.getFirstName(), saved.getLastName());
+                this.events.publish(Entity.EMPLOYEE, Action.CREATED, saved.getId(), saved.getId());
+                results[chunk.get(k)] = BatchCreateResultDto.created(chunk.get(k), EmployeeDto.fromEntity(saved));
+            }
+            return;
+        }
+    }
+
+    private void insertOneByOne(List<CreateEmployeeDto> items, List<Integer> chunk, BatchCreateResultDto[] results) {
+        for (int i : chunk) {
+            try {
+                results[i] = BatchCreateResultDto.created(i, EmployeeDto.fromEntity(create(items.get(i))));
+            } catch (DataAccessException e) {
+                results[i] = BatchCreateResultDto.failed(i, failureOf(i, e));
+            }
+        }
+    }
+
+    // what a caller is told about a row that didn't go in; the driver's message names tables and
+    // constraints, so anything other than a lost email race only goes to the log
+    static String failureOf(int index, DataAccessException e) {
+        if (EmailAllocator.isEmailTaken(e)) {
+            return EMAIL_TAKEN;
+        }
+        log.warn("Batch item {} could not be saved", index, e);
+        return NOT_SAVED;
+    }
+
+    /**
+     * Bulk path for fully built employees, with emails already allocated and
+     * careers attached. Contracts are saved through the cascade, so everything
+     * goes out in JDBC batches within one transaction.
+     */
+    @Transactional
+    public void importWithContracts(List<Employee> employees) {
+        this.repo.saveAll(employees);
+        for (Employee employee : employees) {
+            List<Contract> career = employee.getContracts().stream()
+                    .sorted(Comparator.comparing(Contract::getStartDate).thenComparing(Contract::getId))
+                    .toList();
+            career.stream()
+                    .filter(Contract::isActive)
+                    .reduce((first, second) -> second)
+                    .ifPresent(active -> this.positionService
+                            .create(employee.getId(), employee.getVersion(), active));
+            this.promotionService.create(employee.getId(), career.stream().map(CareerRowDto::fromEntity).toList());
+        }
+        this.repo.flush();
+        for (Employee employee : employees) {
+            this.nameIndex.put(employee.getId(), employee.getFirstName(), employee.getLastName());
+            this.events.publish(Entity.EMPLOYEE, Action.CREATED, employee.getId(), employee.getId());
+            employee.getContracts().forEach(
+                    c -> this.events.publish(Entity.CONTRACT, Action.CREATED, c.getId(), employee.getId()));
+        }
+    }
+
+    private Employee newEmployee(CreateEmployeeDto data) {
         String firstName = data.firstName().trim();
         String lastName = data.lastName().trim();
 
+        Employee employee = new Employee();
         employee.setFirstName(firstName);
         employee.setLastName(lastName);
         employee.setDateOfBirth(data.dateOfBirth());
-        String email = generateEmail(firstName, lastName);
-        employee.setEmail(email);
-        return this.repo.saveAndFlush(employee);
+        employee.setEmail(this.emailAllocator.allocate(firstName, lastName));
+        return employee;
     }
 
+    @Transactional(readOnly = true)
     public long getCount() {
         return this.repo.count();
     }
 
-    public Page<Employee> findEmployees(PageRequest pageable, EmployeeSearchFilterDto filter) {
+    @Transactional(readOnly = true)
+    public Page<EmployeeDto> findEmployees(PageRequest pageable, EmployeeSearchFilterDto filter) {
+        // plain name searches page straight off the index, only the requested rows are loaded
+        if (isNameSearch(filter) && filter.department() == null) {
+            Optional<List<Long>> matches = this.nameIndex.search(filter.searchTerm());
+            if (matches.isPresent()) {
+                return pageOfIds(matches.get(), pageable);
+            }
+        }
+        return this.repo.findBy(buildSpec(filter), q -> q.as(EmployeeDto.class).page(pageable));
+    }
+
+    /**
+     * Keyset variant of {@link #findEmployees}: returns up to {@code size + 1} rows
+     * ordered by {@link EmployeeSpecifications#KEYSET_SORT}, starting after
+     * {@code after} when given. The extra row tells the caller whether another page exists.
+     */
+    @Transactional(readOnly = true)
+    public List<EmployeeDto> findEmployeesAfter(Cursor after, int size, EmployeeSearchFilterDto filter) {
+        Specification<Employee> spec = buildSpec(filter);
+        if (after != null) {
+            spec = spec.and(EmployeeSpecifications.after(after));
+        }
+        return this.repo.findBy(spec,
+                q -> q.as(EmployeeDto.class).sortBy(EmployeeSpecifications.KEYSET_SORT).limit(size + 1).all());
+    }
+
+    @Transactional(readOnly = true)
+    public long countEmployees(EmployeeSearchFilterDto filter) {
+        return this.countCache.get("employees|" + filter.criteriaKey(), () -> this.repo.count(buildSpec(filter)));
+    }
+
+    private Specification<Employee> buildSpec(EmployeeSearchFilterDto filter) {
         Specification<Employee> spec = Specification.unrestricted();
 
-        if (filter.department() != null) {
-            spec = spec.and(EmployeeSpecifications.departmentEquals(filter.department()));
+        if (filter.department() != null && !filter.department().isBlank()) {
+            spec = spec.and(this.departmentService.findIdByName(filter.department())
+                    .map(EmployeeSpecifications::departmentIdEquals)
+                    .orElseGet(() -> EmployeeSpecifications.idIn(List.of())));
         }
 
-        if ("name".equalsIgnoreCase(filter.searchBy()) && filter.searchTerm() != null) {
-            spec = spec.and(EmployeeSpecifications.fullNameContains(filter.searchTerm()));
+        if (isNameSearch(filter)) {
+            spec = spec.and(nameSpec(filter.searchTerm()));
         }
 
         if ("jobTitle".equalsIgnoreCase(filter.searchBy()) && filter.searchTerm() != null) {
             spec = spec.and(EmployeeSpecifications.jobTitleSearch(filter.searchTerm()));
         }
 
-        return this.repo.findAll(spec, pageable);
+        return spec;
+    }
+
+    // a blank term matches everyone, as no term does
+    private boolean isNameSearch(EmployeeSearchFilterDto filter) {
+        return "name".equalsIgnoreCase(filter.searchBy()) && filter.searchTerm() != null
+                && !filter.searchTerm().isBlank();
     }
 
+    private Specification<Employee> nameSpec(String searchTerm) {
+        return this.nameIndex.search(searchTerm)
+                .filter(ids -> ids.size() <= this.maxIndexCandidates)
+                .map(EmployeeSpecifications::idIn)
+                .orElseGet(() -> EmployeeSpecifications.fullNameContains(searchTerm));
+    }
+
+    private Page<EmployeeDto> pageOfIds(List<Long> ids, PageRequest pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<EmployeeDto> content = this.repo
+                .findBy(EmployeeSpecifications.idIn(ids.subList(from, to)), q -> q.as(EmployeeDto.class).all())
+                .stream()
+                .sorted(Comparator.comparing(EmployeeDto::id))
+                .toList();
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<Employee> updateById(Long id, UpdateEmployeeDto data) {
-        Employee found = this.findById(id).orElse(null);
+        return updateById(id, data, null);
+    }
+
+    /**
+     * Applies the patch in its own read-write transaction, holding the
+     * employee's row lock from the read on. Contract writes take the same lock
+     * in {@link #lockCareer}, so the two queue up instead of failing each
+     * other's version check. Retried from scratch on lock timeouts and deadlocks.
+     *
+     * When {@code expectedVersions} is given, the employee's version is checked
+     * against it under that lock, and the update fails with an
+     * {@link OptimisticLockingFailureException} if they have moved on since.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Employee> updateById(Long id, UpdateEmployeeDto data, Collection<Long> expectedVersions) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return this.transactionTemplate.execute(status -> applyUpdate(id, data, expectedVersions));
+            } catch (ConcurrencyFailureException e) {
+                // a version the caller no longer has won't come back by trying again
+                if (e instanceof OptimisticLockingFailureException || attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                // jittered, so writers that just collided don't collide again
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(
+                        ThreadLocalRandom.current().nextLong(1, 5L << attempt)));
+            }
+        }
+    }
+
+    private Optional<Employee> applyUpdate(Long id, UpdateEmployeeDto data, Collection<Long> expectedVersions) {
+        Employee found = this.repo.findForUpdateById(id).orElse(null);
         if (found == null) {
             return Optional.empty();
         }
+        if (expectedVersions != null && !expectedVersions.contains(found.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+        }
         if (data.firstName() != null) {
             found.setFirstName(data.firstName().trim());
         }
@@ -81,35 +419,24 @@ public class EmployeeService {
             found.setDateOfBirth(data.dateOfBirth());
         }
         this.repo.saveAndFlush(found);
+        this.nameIndex.put(found.getId(), found.getFirstName(), found.getLastName());
+        this.events.publish(Entity.EMPLOYEE, Action.UPDATED, id, id);
 
         return Optional.of(found);
     }
 
+    @Transactional
     public boolean deleteById(Long id) {
-        Employee e = this.findById(id).orElse(null);
+        Employee e = this.repo.findById(id).orElse(null);
         if (e == null) {
             return false;
         }
+        this.positionService.remove(id);
+        this.promotionService.remove(id);
         this.repo.delete(e);
+        this.nameIndex.remove(id);
+        this.events.publish(Entity.EMPLOYEE, Action.DELETED, id, id);
         return true;
     }
 
-    private String generateEmail(String firstName, String lastName) {
-        String domain = "@example.com";
-        String base = firstName.toLowerCase() + "." + lastName.toLowerCase();
-        String email = base + domain;
-        List<Employee> existingEmployees = this.repo.findAllByEmailStartingWith(base);
-        Set<String> existingEmails = existingEmployees.stream().map(e -> e.getEmail()).collect(Collectors.toSet());
-        if (!existingEmails.contains(email)) {
-            return email;
-        }
-
-        int suffix = 2;
-        while (existingEmails.contains(base + suffix + domain)) {
-            suffix++;
-        }
-        return base + suffix + domain;
-
-    }
-
 }
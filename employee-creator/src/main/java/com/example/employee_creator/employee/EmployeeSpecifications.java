@@ -1,17 +1,44 @@
 package com.example.employee_creator.employee;
 
+import java.util.Collection;
+
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
-import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.common.Cursor;
+import com.example.employee_creator.employee.dtos.EmployeeDto;
+import com.example.employee_creator.employee.entities.CurrentPosition;
 import com.example.employee_creator.employee.entities.Employee;
 
 import jakarta.persistence.criteria.Expression;
-import jakarta.persistence.criteria.Join;
-
-import com.example.employee_creator.contract.entities.Contract;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 
 public class EmployeeSpecifications {
 
+    // keyset order for cursor pagination, id breaks ties between equal last names
+    public static final Sort KEYSET_SORT = Sort.by("lastName", "id");
+
+    public static Specification<Employee> after(Cursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("lastName"), cursor.sortKey()),
+                cb.and(
+                        cb.equal(root.get("lastName"), cursor.sortKey()),
+                        cb.greaterThan(root.get("id"), cursor.id())));
+    }
+
+    public static Cursor cursorOf(Employee e) {
+        return new Cursor(e.getLastName(), e.getId());
+    }
+
+    public static Cursor cursorOf(EmployeeDto e) {
+        return new Cursor(e.lastName(), e.id());
+    }
+
+    public static Specification<Employee> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
     public static Specification<Employee> fullNameContains(String searchTerm) {
         return (root, query, cb) -> {
             if (searchTerm == null || searchTerm.isBlank()) {
@@ -36,18 +63,15 @@ public class EmployeeSpecifications {
         };
     }
 
-    public static Specification<Employee> departmentEquals(String departmentName) {
-        if (departmentName == null || departmentName.isBlank()) {
-            return null;
-        }
-
+    // the id comes from the department cache, so the subquery needs no join to departments
+    public static Specification<Employee> departmentIdEquals(Long departmentId) {
         return (root, query, cb) -> {
-            Join<Employee, Contract> contract = root.join("contracts");
-            Join<Contract, Department> department = contract.join("department");
+            Subquery<Long> positions = query.subquery(Long.class);
+            Root<CurrentPosition> position = positions.from(CurrentPosition.class);
+            positions.select(position.get("employeeId"))
+                    .where(cb.equal(position.get("department").get("id"), departmentId));
 
-            return cb.and(
-                    cb.equal(cb.lower(department.get("name")), departmentName.toLowerCase()),
-                    cb.isTrue(contract.get("isActive")));
+            return root.get("id").in(positions);
         };
     }
 
@@ -57,13 +81,14 @@ public class EmployeeSpecifications {
                 return null;
             }
 
-            query.distinct(true);
             String term = "%" + searchTerm.toLowerCase() + "%";
 
-            Join<Employee, Contract> contract = root.join("contracts");
-            return cb.and(
-                    cb.like(cb.lower(contract.get("jobTitle")), term),
-                    cb.equal(contract.get("isActive"), true));
+            Subquery<Long> positions = query.subquery(Long.class);
+            Root<CurrentPosition> position = positions.from(CurrentPosition.class);
+            positions.select(position.get("employeeId"))
+                    .where(cb.like(cb.lower(position.get("jobTitle")), term));
+
+            return root.get("id").in(positions);
         };
     }
 }
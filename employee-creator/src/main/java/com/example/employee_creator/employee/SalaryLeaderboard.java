@@ -0,0 +1,164 @@
+package com.example.employee_creator.employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.employee_creator.employee.dtos.SalaryRankDto;
+
+/**
+ * Active contracts ordered by salary, overall and per department, so the
+ * highest paid employees are read off the head of a skip list instead of
+ * sorting every contract. Fed from current positions, so each employee appears
+ * once, with their active contract.
+ *
+ * Changes are applied after the writing transaction commits, and carry the
+ * employee's row version: commits to one employee may run their hooks in
+ * either order, and an employee's entry is only replaced by a newer version,
+ * so nobody is listed twice or at an old salary. The whole index is built from
+ * {@code current_positions} at startup, by {@link CurrentPositionService}
+ * before any request can change them.
+ */
+@Component
+class SalaryLeaderboard {
+    private static final Logger log = LoggerFactory.getLogger(SalaryLeaderboard.class);
+
+    private final CurrentPositionRepository repo;
+
+    private volatile Index index = new Index();
+
+    SalaryLeaderboard(CurrentPositionRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * Ranks the employee as {@code entry} from {@code version} of their row on,
+     * null once they have no active contract.
+     */
+    void update(Long employeeId, long version, SalaryRankDto entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.index.apply(employeeId, version, entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.apply(employeeId, version, entry);
+            }
+        });
+    }
+
+    /**
+     * The {@code limit} best paid, highest first; {@code departmentId} null for all departments.
+     */
+    List<SalaryRankDto> top(Long departmentId, int limit) {
+        Index current = this.index;
+        ConcurrentSkipListMap<Key, SalaryRankDto> ranked = departmentId == null
+                ? current.all
+                : current.byDepartment.get(departmentId);
+        if (ranked == null) {
+            return List.of();
+        }
+        List<SalaryRankDto> top = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (SalaryRankDto entry : ranked.values()) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(entry);
+        }
+        return top;
+    }
+
+    // changes applied while this runs are lost when the index is swapped, so nothing may write meanwhile
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Index rebuilt = new Index();
+        try (Stream<SalaryRankDto> entries = this.repo.streamSalaryRanks()) {
+            // older than any write still to come
+            entries.forEach(entry -> rebuilt.apply(entry.employeeId(), Long.MIN_VALUE, entry));
+        }
+        this.index = rebuilt;
+        log.info("Ranked {} active contracts by salary", rebuilt.all.size());
+    }
+
+    private static class Index {
+        private final ConcurrentSkipListMap<Key, SalaryRankDto> all = new ConcurrentSkipListMap<>();
+        private final Map<Long, ConcurrentSkipListMap<Key, SalaryRankDto>> byDepartment = new ConcurrentHashMap<>();
+        // where each employee is ranked now, null once they aren't, and the version that put them there
+        private final Map<Long, Ranked> byEmployee = new ConcurrentHashMap<>();
+
+        // one employee's changes run one at a time, under their entry's lock in the map
+        void apply(Long employeeId, long version, SalaryRankDto entry) {
+            this.byEmployee.compute(employeeId, (id, current) -> {
+                if (current != null && current.version() >= version) {
+                    return current;
+                }
+                SalaryRankDto removed = current == null ? null : current.entry();
+                if (removed == null || !removed.equals(entry)) {
+                    move(removed, entry);
+                }
+                return new Ranked(version, entry);
+            });
+        }
+
+        private void move(SalaryRankDto removed, SalaryRankDto added) {
+            if (isRanked(removed)) {
+                Key key = Key.of(removed);
+                this.all.remove(key);
+                if (removed.departmentId() != null) {
+                    ConcurrentSkipListMap<Key, SalaryRankDto> department = this.byDepartment.get(removed.departmentId());
+                    if (department != null) {
+                        department.remove(key);
+                    }
+                }
+            }
+            if (isRanked(added)) {
+                Key key = Key.of(added);
+                this.all.put(key, added);
+                if (added.departmentId() != null) {
+                    this.byDepartment.computeIfAbsent(added.departmentId(), id -> new ConcurrentSkipListMap<>())
+                            .put(key, added);
+                }
+            }
+        }
+
+        private static boolean isRanked(SalaryRankDto entry) {
+            return entry != null && entry.contractId() != null && entry.salary() != null;
+        }
+    }
+
+    private record Ranked(long version, SalaryRankDto entry) {
+    }
+
+    /**
+     * Highest salary first, ties broken by the later start date. An employee is
+     * ranked once, so the employee id settles the rest; contract ids come from
+     * a hi/lo allocator and say nothing about which contract is newer.
+     */
+    private record Key(float salary, long startDay, long employeeId) implements Comparable<Key> {
+        static Key of(SalaryRankDto entry) {
+            long startDay = entry.startDate() == null ? Long.MIN_VALUE : entry.startDate().toEpochDay();
+            return new Key(entry.salary(), startDay, entry.employeeId());
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int bySalary = Float.compare(other.salary, this.salary);
+            if (bySalary != 0) {
+                return bySalary;
+            }
+            int byStart = Long.compare(other.startDay, this.startDay);
+            return byStart != 0 ? byStart : Long.compare(other.employeeId, this.employeeId);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.employee_creator.employee.dtos;
+
+import java.util.List;
+
+public record BatchCreateResultDto(int index, Status status, EmployeeDto employee, List<String> errors) {
+
+    public enum Status {
+        CREATED, INVALID, FAILED
+    }
+
+    public static BatchCreateResultDto created(int index, EmployeeDto employee) {
+        return new BatchCreateResultDto(index, Status.CREATED, employee, List.of());
+    }
+
+    public static BatchCreateResultDto invalid(int index, List<String> errors) {
+        return new BatchCreateResultDto(index, Status.INVALID, null, errors);
+    }
+
+    public static BatchCreateResultDto failed(int index, String error) {
+        return new BatchCreateResultDto(index, Status.FAILED, null, List.of(error));
+    }
+}
@@ -5,10 +5,16 @@ import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
+/**
+ * Names are capped so the email built from them, {@code first.last}, a suffix
+ * and the domain, still fits its 255 character column.
+ */
 public record CreateEmployeeDto(
-                @NotBlank String firstName,
-                @NotBlank String lastName,
-                @NotBlank @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd") LocalDate dateOfBirth) {
+                @NotBlank @Size(max = 100) String firstName,
+                @NotBlank @Size(max = 100) String lastName,
+                @NotNull @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd") LocalDate dateOfBirth) {
 
 }
@@ -0,0 +1,10 @@
+package com.example.employee_creator.employee.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.employee_creator.contract.dtos.ContractDto;
+
+public record EmployeeExportDto(Long id, String firstName, String lastName, String email, LocalDate dateOfBirth,
+        List<ContractDto> contracts) {
+}
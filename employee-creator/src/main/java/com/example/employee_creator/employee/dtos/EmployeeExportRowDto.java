@@ -0,0 +1,20 @@
+package com.example.employee_creator.employee.dtos;
+
+import java.time.LocalDate;
+
+import com.example.employee_creator.contract.dtos.ContractDto;
+
+// one employee/contract pair, contract fields are null for employees without contracts
+public record EmployeeExportRowDto(Long id, String firstName, String lastName, String email, LocalDate dateOfBirth,
+        Long contractId, String departmentName, String jobTitle, Float salary, LocalDate startDate,
+        LocalDate endDate, Boolean isActive) {
+
+    public boolean hasContract() {
+        return contractId != null;
+    }
+
+    public ContractDto toContractDto() {
+        return new ContractDto(contractId, departmentName, jobTitle, salary, startDate, endDate,
+                Boolean.TRUE.equals(isActive));
+    }
+}
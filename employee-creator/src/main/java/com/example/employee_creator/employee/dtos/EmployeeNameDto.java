@@ -0,0 +1,4 @@
+package com.example.employee_creator.employee.dtos;
+
+public record EmployeeNameDto(Long id, String firstName, String lastName) {
+}
@@ -1,9 +1,24 @@
 package com.example.employee_creator.employee.dtos;
 
 public record EmployeeSearchFilterDto(Integer page, Integer size, String department, String searchTerm,
-        String searchBy) {
+        String searchBy, String pagination, String after, Boolean includeTotal) {
     public EmployeeSearchFilterDto {
         page = (page == null) ? 1 : page;
         size = (size == null) ? 10 : size;
+        includeTotal = (includeTotal == null) ? false : includeTotal;
+    }
+
+    public boolean isCursorMode() {
+        return "cursor".equalsIgnoreCase(pagination) || after != null;
+    }
+
+    /**
+     * Identifies the result set independent of the requested page, e.g. for caching counts.
+     */
+    public String criteriaKey() {
+        return String.join("|",
+                String.valueOf(department).toLowerCase(),
+                String.valueOf(searchBy).toLowerCase(),
+                String.valueOf(searchTerm).toLowerCase());
     }
 }
@@ -0,0 +1,38 @@
+package com.example.employee_creator.employee.dtos;
+
+/**
+ * What an employee's detail and contract history are derived from. The row
+ * version moves on every update to the employee and, through
+ * {@code EmployeeService#lockCareer}, on every contract write, so it covers
+ * both; it is also what {@code @Version} checks, which makes the entity tag
+ * usable as a write precondition.
+ */
+public record EmployeeVersionDto(Long id, Long version) {
+
+    /**
+     * The entity tag of this version written as {@code representation}; the
+     * JSON and CBOR bodies of one version differ byte for byte, so their
+     * strong tags must as well.
+     */
+    public String etag(String representation) {
+        return "%d-%d-%s".formatted(id, version, representation);
+    }
+
+    /**
+     * The version an entity tag issued for employee {@code id} stands for, or
+     * null when it isn't one of theirs. Any representation's tag will do.
+     */
+    public static Long versionOf(Long id, String tag) {
+        String prefix = id + "-";
+        if (!tag.startsWith(prefix)) {
+            return null;
+        }
+        String rest = tag.substring(prefix.length());
+        int end = rest.indexOf('-');
+        try {
+            return Long.parseLong(end < 0 ? rest : rest.substring(0, end));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.employee_creator.employee.dtos;
+
+import java.time.LocalDate;
+
+/**
+ * An employee's active contract as ranked by {@code SalaryLeaderboard}.
+ */
+public record SalaryRankDto(Long employeeId, Long contractId, Long departmentId, Float salary, LocalDate startDate) {
+}
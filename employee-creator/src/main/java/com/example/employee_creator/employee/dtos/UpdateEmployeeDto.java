@@ -5,10 +5,11 @@ import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 public record UpdateEmployeeDto(
-        @Pattern(regexp = ".*\\S.*", message = "firstName cannot be empty") String firstName,
-        @Pattern(regexp = ".*\\S.*", message = "lastName cannot be empty") String lastName,
+        @Pattern(regexp = ".*\\S.*", message = "firstName cannot be empty") @Size(max = 255) String firstName,
+        @Pattern(regexp = ".*\\S.*", message = "lastName cannot be empty") @Size(max = 255) String lastName,
         @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd") LocalDate dateOfBirth) {
 
 }
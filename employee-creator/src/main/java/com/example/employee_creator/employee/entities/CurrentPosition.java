@@ -0,0 +1,102 @@
+package com.example.employee_creator.employee.entities;
+
+import org.springframework.data.domain.Persistable;
+
+import com.example.employee_creator.department.entities.Department;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * Read model holding the active contract of each employee, so searches and
+ * detail lookups don't have to go through the full contract history.
+ * Maintained by {@link com.example.employee_creator.employee.CurrentPositionService}.
+ */
+@Entity
+@Table(name = "current_positions", indexes = {
+        @Index(name = "idx_current_positions_department", columnList = "department_id, employee_id")
+})
+public class CurrentPosition implements Persistable<Long> {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+    @Column(name = "contract_id")
+    private Long contractId;
+    @Column
+    private String jobTitle;
+    @Column
+    private Float salary;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Department department;
+
+    // the id is assigned, so Spring Data can't tell new rows apart without this
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public Long getId() {
+        return employeeId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Long getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(Long contractId) {
+        this.contractId = contractId;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    public Float getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Float salary) {
+        this.salary = salary;
+    }
+
+    public Department getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(Department department) {
+        this.department = department;
+    }
+
+}
@@ -10,17 +10,20 @@ import com.example.employee_creator.contract.entities.Contract;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_last_name", columnList = "last_name, id")
+})
 public class Employee extends BaseEntity {
     @Column
     private String firstName;
     @Column
     private String lastName;
-    @Column
+    @Column(unique = true)
     private String email;
     @Column
     private LocalDate dateOfBirth;
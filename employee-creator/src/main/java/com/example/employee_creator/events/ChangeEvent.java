@@ -0,0 +1,20 @@
+package com.example.employee_creator.events;
+
+import java.time.Instant;
+
+/**
+ * One committed write. {@code employeeId} names the owning employee for
+ * contract events and repeats {@code id} for employee events; departments have
+ * none. Deleting an employee takes their contracts with it, without an event
+ * for each.
+ */
+public record ChangeEvent(long sequence, Entity entity, Action action, Long id, Long employeeId, Instant at) {
+
+    public enum Entity {
+        EMPLOYEE, CONTRACT, DEPARTMENT
+    }
+
+    public enum Action {
+        CREATED, UPDATED, DELETED
+    }
+}
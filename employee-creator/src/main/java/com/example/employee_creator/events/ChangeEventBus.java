@@ -0,0 +1,156 @@
+package com.example.employee_creator.events;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.employee_creator.events.ChangeEvent.Action;
+import com.example.employee_creator.events.ChangeEvent.Entity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Committed writes, numbered and kept in a ring of the last
+ * {@code app.events.buffer-size} events. Changes published inside a
+ * transaction are held until it commits and dropped if it rolls back, so
+ * nothing is announced that readers can't see yet.
+ *
+ * In-process listeners are called on the committing thread and should only do
+ * a little bookkeeping. Anything slower reads the ring at its own pace through
+ * {@link #get}: publishing never waits for a reader, and a reader that falls a
+ * whole ring behind finds its next event overwritten.
+ */
+@Component
+public class ChangeEventBus {
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    private final AtomicReferenceArray<ChangeEvent> ring;
+    private final int mask;
+    // starts from the boot time, so sequences from before a restart are older than anything in this ring
+    private final long firstSequence = System.currentTimeMillis() * 1_000;
+    private volatile long lastSequence = this.firstSequence - 1;
+
+    private final List<Consumer<ChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private final Map<Entity, Counter> published = new EnumMap<>(Entity.class);
+    private final Counter listenerErrors;
+
+    public ChangeEventBus(MeterRegistry registry, @Value("${app.events.buffer-size:4096}") int bufferSize) {
+        int capacity = Integer.highestOneBit(Math.max(bufferSize - 1, 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        for (Entity entity : Entity.values()) {
+            this.published.put(entity, Counter.builder("app.events.published")
+                    .tag("entity", entity.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        this.listenerErrors = Counter.builder("app.events.listener.errors").register(registry);
+    }
+
+    public void publish(Entity entity, Action action, Long id, Long employeeId) {
+        Change change = new Change(entity, action, id, employeeId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(List.of(change));
+            return;
+        }
+        pending().changes.add(change);
+    }
+
+    public void subscribe(Consumer<ChangeEvent> listener) {
+        this.listeners.add(listener);
+    }
+
+    public void unsubscribe(Consumer<ChangeEvent> listener) {
+        this.listeners.remove(listener);
+    }
+
+    public long firstSequence() {
+        return this.firstSequence;
+    }
+
+    public long lastSequence() {
+        return this.lastSequence;
+    }
+
+    // the oldest sequence still in the ring, or the next one to be published while it's empty
+    public long oldestSequence() {
+        return Math.max(this.firstSequence, this.lastSequence - this.mask);
+    }
+
+    /**
+     * The event published with {@code sequence}, or null if it is not in the
+     * ring: not published yet, or already overwritten.
+     */
+    public ChangeEvent get(long sequence) {
+        ChangeEvent event = this.ring.get((int) (sequence & this.mask));
+        return event != null && event.sequence() == sequence ? event : null;
+    }
+
+    private void append(List<Change> changes) {
+        Instant now = Instant.now();
+        ChangeEvent[] events = new ChangeEvent[changes.size()];
+        synchronized (this) {
+            long sequence = this.lastSequence;
+            for (int i = 0; i < events.length; i++) {
+                Change c = changes.get(i);
+                events[i] = new ChangeEvent(++sequence, c.entity(), c.action(), c.id(), c.employeeId(), now);
+                this.ring.set((int) (sequence & this.mask), events[i]);
+            }
+            this.lastSequence = sequence;
+        }
+
+        for (ChangeEvent event : events) {
+            this.published.get(event.entity()).increment();
+            for (Consumer<ChangeEvent> listener : this.listeners) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException e) {
+                    this.listenerErrors.increment();
+                    log.warn("Change event listener failed on {}", event, e);
+                }
+            }
+        }
+    }
+
+    // one batch per transaction, instead of a synchronization per change
+    private PendingChanges pending() {
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof PendingChanges pending && pending.bus() == this) {
+                return pending;
+            }
+        }
+        PendingChanges pending = new PendingChanges();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private record Change(Entity entity, Action action, Long id, Long employeeId) {
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+        private final List<Change> changes = new ArrayList<>();
+
+        ChangeEventBus bus() {
+            return ChangeEventBus.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            append(this.changes);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.employee_creator.events;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fans the {@link ChangeEventBus} out to {@code GET /events} clients. Every
+ * stream keeps its own position in the ring and is written by a small sender
+ * pool, a bounded number of events per turn, so a slow client delays only
+ * itself. A client that falls a whole ring behind, or resumes from an event
+ * that is no longer buffered, gets a {@code reset} event instead of what it
+ * missed: anything it holds may be stale and should be fetched again. The
+ * missed events are counted under {@code app.events.dropped}.
+ */
+@Component
+class ChangeEventStreams implements DisposableBean {
+    static final String RESET = "reset";
+    private static final int MAX_EVENTS_PER_TURN = 256;
+
+    private final ChangeEventBus bus;
+    private final ExecutorService senders;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final Counter delivered;
+    private final Counter droppedLagging;
+    private final Counter droppedResume;
+    private final Counter rejected;
+
+    ChangeEventStreams(ChangeEventBus bus, MeterRegistry registry,
+            @Value("${app.events.max-subscribers:100}") int maxSubscribers,
+            @Value("${app.events.sender-threads:2}") int senderThreads,
+            @Value("${app.events.stream-timeout:30m}") Duration timeout) {
+        this.bus = bus;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("change-events-");
+        threads.setDaemon(true);
+        this.senders = Executors.newFixedThreadPool(senderThreads, threads);
+
+        this.delivered = Counter.builder("app.events.delivered").register(registry);
+        this.droppedLagging = dropped(registry, "lagging");
+        this.droppedResume = dropped(registry, "resume");
+        this.rejected = Counter.builder("app.events.rejected")
+                .description("Streams refused because app.events.max-subscribers were already open")
+                .register(registry);
+        Gauge.builder("app.events.subscribers", this.subscribers, AtomicInteger::get).register(registry);
+    }
+
+    /**
+     * A stream of everything published after {@code after}, or from now on when
+     * it is null; null when {@code app.events.max-subscribers} are already open.
+     */
+    SseEmitter open(Long after) {
+        if (this.subscribers.incrementAndGet() > this.maxSubscribers) {
+            this.subscribers.decrementAndGet();
+            this.rejected.increment();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(this.timeoutMillis);
+        long last = this.bus.lastSequence();
+        // an id this process never issued, from before a restart say, so there's no telling what was missed
+        boolean unknown = after != null && (after > last || after < this.bus.firstSequence() - 1);
+        Stream stream = unknown || after == null
+                ? new Stream(emitter, last + 1, false, unknown)
+                : new Stream(emitter, after + 1, true, false);
+        emitter.onCompletion(stream::close);
+        emitter.onError(e -> stream.close());
+        emitter.onTimeout(() -> {
+            stream.close();
+            emitter.complete();
+        });
+        this.bus.subscribe(stream);
+        stream.schedule();
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        this.senders.shutdownNow();
+    }
+
+    private static Counter dropped(MeterRegistry registry, String reason) {
+        return Counter.builder("app.events.dropped")
+                .description("Events a stream skipped because they had left the ring")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private final class Stream implements Consumer<ChangeEvent> {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // only touched by drain, which never runs twice at once
+        private long next;
+        // still looking for the position the client asked to resume from
+        private boolean resuming;
+        private boolean resetPending;
+
+        Stream(SseEmitter emitter, long next, boolean resuming, boolean resetPending) {
+            this.emitter = emitter;
+            this.next = next;
+            this.resuming = resuming;
+            this.resetPending = resetPending;
+        }
+
+        @Override
+        public void accept(ChangeEvent event) {
+            schedule();
+        }
+
+        void schedule() {
+            if (!this.closed.get() && this.scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // shutting down
+                    this.scheduled.set(false);
+                }
+            }
+        }
+
+        void close() {
+            if (this.closed.compareAndSet(false, true)) {
+                bus.unsubscribe(this);
+                subscribers.decrementAndGet();
+            }
+        }
+
+        private void drain() {
+            try {
+                for (int sent = 0; sent < MAX_EVENTS_PER_TURN && !this.closed.get(); sent++) {
+                    if (this.resetPending) {
+                        sendReset("unknown", 0);
+                    } else if (this.next > bus.lastSequence()) {
+                        break;
+                    } else {
+                        sendNext();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // the client went away, the container reports it to the emitter as well
+                close();
+            } finally {
+                this.scheduled.set(false);
+            }
+            // anything published while the flag was still up would have found it taken
+            if (this.next <= bus.lastSequence()) {
+                schedule();
+            }
+        }
+
+        private void sendNext() throws IOException {
+            ChangeEvent event = bus.get(this.next);
+            if (event == null) {
+                // overwritten before this stream got to it
+                long oldest = bus.oldestSequence();
+                long missed = oldest - this.next;
+                (this.resuming ? droppedResume : droppedLagging).increment(missed);
+                this.next = oldest;
+                sendReset(this.resuming ? "resume" : "lagging", missed);
+                return;
+            }
+            this.emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.sequence()))
+                    .data(event, MediaType.APPLICATION_JSON));
+            this.next++;
+            this.resuming = false;
+            delivered.increment();
+        }
+
+        // carries the id before the next event, so a client reconnecting after it picks up from there
+        private void sendReset(String reason, long missed) throws IOException {
+            this.emitter.send(SseEmitter.event()
+                    .name(RESET)
+                    .id(Long.toString(this.next - 1))
+                    .data(Map.of("reason", reason, "missed", missed), MediaType.APPLICATION_JSON));
+            this.resetPending = false;
+            this.resuming = false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.employee_creator.events;
+
+import org.apache.coyote.BadRequestException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/events")
+@Tag(name = "Events", description = "Committed changes, as Server-Sent Events")
+public class EventController {
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final ChangeEventStreams streams;
+
+    public EventController(ChangeEventStreams streams) {
+        this.streams = streams;
+    }
+
+    /**
+     * One event per committed write, a {@link ChangeEvent} with its sequence as
+     * the event id. A reconnecting EventSource sends the last id it saw as
+     * {@code Last-Event-ID} and carries on from there; {@code after} does the
+     * same for other clients. A {@code reset} event means some events were
+     * missed and cached state should be fetched again.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestHeader(name = LAST_EVENT_ID, required = false) String lastEventId,
+            @RequestParam(required = false) Long after) throws BadRequestException {
+        Long resumeAfter = after;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeAfter = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid " + LAST_EVENT_ID + " " + lastEventId);
+            }
+        }
+
+        SseEmitter emitter = this.streams.open(resumeAfter);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -0,0 +1,75 @@
+-- schema as ddl-auto=update left it; existing databases are baselined past this script
+create table departments (
+    id bigint not null,
+    name varchar(255),
+    description varchar(255),
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_departments_name unique (name)
+);
+
+create table employees (
+    id bigint not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    date_of_birth date,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_employees_email unique (email)
+);
+
+create table contracts (
+    id bigint not null,
+    employee_id bigint,
+    department_id bigint,
+    job_title varchar(255),
+    salary float(23),
+    start_date date,
+    end_date date,
+    is_active bit,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_contracts_employee foreign key (employee_id) references employees (id),
+    constraint fk_contracts_department foreign key (department_id) references departments (id)
+);
+
+create table current_positions (
+    employee_id bigint not null,
+    contract_id bigint,
+    department_id bigint,
+    job_title varchar(255),
+    salary float(23),
+    primary key (employee_id),
+    constraint fk_current_positions_department foreign key (department_id) references departments (id)
+);
+
+create table promotion_events (
+    contract_id bigint not null,
+    employee_id bigint,
+    promotion_date date,
+    previous_start_date date,
+    previous_salary float(23),
+    salary float(23),
+    interval_days integer,
+    primary key (contract_id)
+);
+create index idx_promotion_events_date on promotion_events (promotion_date, contract_id);
+create index idx_promotion_events_employee on promotion_events (employee_id);
+
+create table promotion_status (
+    employee_id bigint not null,
+    last_promotion_date date,
+    primary key (employee_id)
+);
+create index idx_promotion_status_last on promotion_status (last_promotion_date, employee_id);
+
+create table id_generator (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+);
+insert into id_generator (sequence_name, next_val) values ('entities', 0);
@@ -0,0 +1,12 @@
+-- latest contract on every insert, the ordered career on every sync, and the ETag count;
+-- leads with employee_id so it also backs the foreign key
+create index idx_contracts_employee_start on contracts (employee_id, start_date, id);
+
+-- latest active contract per employee when current positions are backfilled
+create index idx_contracts_active_employee on contracts (is_active, employee_id, start_date);
+
+-- department filter on the employee search, answered from the index alone
+create index idx_current_positions_department on current_positions (department_id, employee_id);
+
+-- keyset pagination walks (last_name, id) in order
+create index idx_employees_last_name on employees (last_name, id);
@@ -0,0 +1,4 @@
+-- optimistic locking for BaseEntity; existing rows start at version 0
+alter table employees add column version bigint not null default 0;
+alter table departments add column version bigint not null default 0;
+alter table contracts add column version bigint not null default 0;
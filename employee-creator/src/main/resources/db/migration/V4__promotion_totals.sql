@@ -0,0 +1,15 @@
+-- running promotion count and interval sum, split over 16 slots by employee_id so writers
+-- to different slots don't queue on one row; the average sums all of them
+create table promotion_totals (
+    slot integer not null,
+    promotions bigint not null,
+    interval_days bigint not null,
+    primary key (slot)
+);
+insert into promotion_totals (slot, promotions, interval_days) values
+    (0, 0, 0), (1, 0, 0), (2, 0, 0), (3, 0, 0), (4, 0, 0), (5, 0, 0), (6, 0, 0), (7, 0, 0),
+    (8, 0, 0), (9, 0, 0), (10, 0, 0), (11, 0, 0), (12, 0, 0), (13, 0, 0), (14, 0, 0), (15, 0, 0);
+update promotion_totals t set
+    promotions = (select count(*) from promotion_events p where mod(p.employee_id, 16) = t.slot),
+    interval_days = (select coalesce(sum(p.interval_days), 0) from promotion_events p
+                     where mod(p.employee_id, 16) = t.slot);
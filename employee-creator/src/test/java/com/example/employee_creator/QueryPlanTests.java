@@ -0,0 +1,185 @@
+package com.example.employee_creator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.employee_creator.analytics.PromotionEventRepository;
+import com.example.employee_creator.analytics.PromotionStatusRepository;
+import com.example.employee_creator.common.Cursor;
+import com.example.employee_creator.contract.ContractRepository;
+import com.example.employee_creator.contract.entities.Contract;
+import com.example.employee_creator.department.DepartmentRepository;
+import com.example.employee_creator.employee.CurrentPositionRepository;
+import com.example.employee_creator.employee.EmployeeRepository;
+import com.example.employee_creator.employee.EmployeeSpecifications;
+import com.example.employee_creator.employee.dtos.EmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+
+/**
+ * Runs each repository and specification query against a seeded database,
+ * EXPLAINs every statement it sends and fails when a table is read by a full
+ * scan. Leading-wildcard searches may scan the table they search; queries
+ * that read whole tables by design (startup rebuilds, exports) are left out.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.seeder.employees=500",
+        "app.seeder.as-of=2025-01-01"
+})
+@ActiveProfiles({ "test", "dev" })
+class QueryPlanTests {
+    // H2 names the access path of every table in a comment, e.g. /* public.contracts.tableScan */
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* \\w+\\.(\\w+)\\.tableScan");
+
+    private static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    @TestConfiguration
+    static class StatementCapture {
+        @Bean
+        HibernatePropertiesCustomizer statementInspector() {
+            return props -> props.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                statements.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private TransactionTemplate tx;
+    @Autowired
+    private EmployeeRepository employees;
+    @Autowired
+    private ContractRepository contracts;
+    @Autowired
+    private CurrentPositionRepository positions;
+    @Autowired
+    private DepartmentRepository departments;
+    @Autowired
+    private PromotionEventRepository promotionEvents;
+    @Autowired
+    private PromotionStatusRepository promotionStatus;
+
+    @TestFactory
+    Stream<DynamicTest> hotQueriesUseIndexes() {
+        // row counts for the optimizer, otherwise every table looks the same size
+        this.jdbc.execute("analyze");
+
+        Contract contract = this.contracts.findAll(PageRequest.of(0, 1)).getContent().get(0);
+        Employee employee = contract.getEmployee();
+        Long departmentId = contract.getDepartment().getId();
+        String emailBase = employee.getEmail().substring(0, employee.getEmail().indexOf('@') - 1);
+        Cursor cursor = EmployeeSpecifications.cursorOf(employee);
+
+        return Stream.of(
+                plan("latest contract", () -> this.contracts.findTopByEmployeeOrderByStartDateDescIdDesc(employee)),
+                plan("career", () -> this.contracts.findByEmployeeOrderByStartDateAscIdAsc(employee)),
+                plan("highest numbered email",
+                        () -> this.employees.findHighestNumberedEmail(emailBase + "%", "^[a-z.]+[0-9]*@")),
+                plan("contract history", () -> this.contracts.findHistoryByEmployeeId(employee.getId())),
+                plan("enriched employee", () -> this.employees.findEnrichedById(employee.getId())),
+                plan("enriched employees", () -> this.employees.findEnrichedByIdIn(List.of(employee.getId(), 1L))),
+                plan("employee version", () -> this.employees.findVersionById(employee.getId())),
+                plan("employee for update", () -> this.employees.findForUpdateById(employee.getId())),
+                plan("names after", () -> this.employees.findNamesAfter(employee.getId(), Limit.of(100))),
+                plan("current position", () -> this.positions.findById(employee.getId())),
+                plan("employee promotions", () -> this.promotionEvents.findByEmployeeId(employee.getId())),
+                plan("recent promotions", () -> this.promotionEvents.findRecent(10)),
+                plan("longest promotion gaps", () -> this.promotionStatus.findLongestGaps(Limit.of(10))),
+                plan("keyset page", () -> this.employees.findBy(EmployeeSpecifications.after(cursor),
+                        q -> q.as(EmployeeDto.class).sortBy(EmployeeSpecifications.KEYSET_SORT).limit(11).all())),
+                plan("department page", () -> this.employees.findBy(
+                        EmployeeSpecifications.departmentIdEquals(departmentId),
+                        q -> q.as(EmployeeDto.class).sortBy(EmployeeSpecifications.KEYSET_SORT).limit(11).all())),
+                plan("department count",
+                        () -> this.employees.count(EmployeeSpecifications.departmentIdEquals(departmentId))),
+                plan("ids page", () -> this.employees.findBy(
+                        EmployeeSpecifications.idIn(List.of(employee.getId(), 1L)), q -> q.as(EmployeeDto.class).all())),
+                plan("name search", () -> this.employees.findBy(
+                        EmployeeSpecifications.fullNameContains(employee.getLastName()),
+                        q -> q.as(EmployeeDto.class).page(PageRequest.of(0, 10))),
+                        "employees"),
+                plan("job title search", () -> this.employees.findBy(
+                        EmployeeSpecifications.jobTitleSearch(contract.getJobTitle()),
+                        q -> q.as(EmployeeDto.class).page(PageRequest.of(0, 10))),
+                        "current_positions"),
+                // a handful of rows, and DepartmentCache answers repeat lookups
+                plan("department by name", () -> this.departments.findByNameIgnoreCase("engineering"),
+                        "departments"));
+    }
+
+    private DynamicTest plan(String name, Runnable query, String... scannable) {
+        return DynamicTest.dynamicTest(name, () -> {
+            statements.clear();
+            this.tx.executeWithoutResult(status -> query.run());
+            assertThat(statements).as("statements run by %s", name).isNotEmpty();
+
+            for (String sql : List.copyOf(statements)) {
+                String plan = explain(sql);
+                Matcher scan = TABLE_SCAN.matcher(plan);
+                while (scan.find()) {
+                    assertThat(Set.of(scannable))
+                            .as("%s scans %s:%n%s", name, scan.group(1), plan)
+                            .contains(scan.group(1));
+                }
+            }
+        });
+    }
+
+    // H2 plans with the bound values, e.g. only a LIKE with a known prefix can use an index
+    private String explain(String sql) {
+        return this.jdbc.execute((Connection c) -> {
+            try (PreparedStatement ps = c.prepareStatement("explain " + sql)) {
+                ParameterMetaData parameters = ps.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    ps.setObject(i, sampleValue(parameters.getParameterType(i)));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+
+    private static Object sampleValue(int sqlType) {
+        return switch (sqlType) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT, Types.NUMERIC, Types.DECIMAL -> 1;
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> 50000f;
+            case Types.DATE -> LocalDate.of(2020, 1, 1);
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> LocalDateTime.of(2020, 1, 1, 0, 0);
+            case Types.BOOLEAN, Types.BIT -> true;
+            default -> "a%";
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.employee_creator.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.employee_creator.analytics.dtos.CareerRowDto;
+import com.example.employee_creator.analytics.dtos.PromotionIntervalDto;
+import com.example.employee_creator.analytics.entities.PromotionEvent;
+import com.example.employee_creator.contract.ContractService;
+import com.example.employee_creator.contract.dtos.CreateContractDto;
+import com.example.employee_creator.contract.entities.Contract;
+import com.example.employee_creator.department.DepartmentService;
+import com.example.employee_creator.department.dtos.CreateDepartmentDto;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.EmployeeService;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Other tests write contracts into the same database, so the average is
+ * checked through how far its totals move.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PromotionServiceTests {
+    private static final LocalDate START = LocalDate.of(2010, 1, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private PromotionService promotionService;
+    @Autowired
+    private ContractService contractService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        this.department = this.departmentService
+                .createDepartment(new CreateDepartmentDto("Promotions " + System.nanoTime(), "Promotions"));
+    }
+
+    @Test
+    void onlyRaisesOverThePreviousContractArePromotions() {
+        List<CareerRowDto> career = List.of(
+                new CareerRowDto(1L, 10L, 50000f, START),
+                new CareerRowDto(1L, 11L, 60000f, START.plusYears(1)),
+                new CareerRowDto(1L, 12L, 60000f, START.plusYears(2)),
+                new CareerRowDto(1L, 13L, 55000f, START.plusYears(3)),
+                new CareerRowDto(1L, 14L, null, START.plusYears(4)),
+                new CareerRowDto(1L, 15L, 70000f, START.plusYears(5)),
+                new CareerRowDto(1L, 16L, 80000f, START.plusYears(5).plusDays(181)));
+
+        List<PromotionEvent> promotions = PromotionService.promotionsOf(1L, career);
+
+        assertThat(promotions).extracting(PromotionEvent::getContractId).containsExactly(11L, 16L);
+        assertThat(promotions).extracting(PromotionEvent::getIntervalDays).containsExactly(365, 181);
+        assertThat(promotions.get(0).getPreviousSalary()).isEqualTo(50000f);
+        assertThat(promotions.get(0).getPreviousStartDate()).isEqualTo(START);
+        assertThat(promotions.get(1).getPromotionDate()).isEqualTo(START.plusYears(5).plusDays(181));
+    }
+
+    @Test
+    void averageIntervalFollowsRaisesAndDeletes() throws Exception {
+        Totals before = totals();
+        Employee employee = newEmployee();
+        contract(employee, 50000f, START);
+        Contract raise = contract(employee, 60000f, START.plusDays(365));
+        contract(employee, 70000f, START.plusDays(465));
+        assertThat(totals().minus(before)).isEqualTo(new Totals(2, 465));
+
+        // the last contract now follows the first, still a raise and over the same span
+        this.contractService.deleteById(raise.getId());
+        assertThat(totals().minus(before)).isEqualTo(new Totals(1, 465));
+
+        this.employeeService.deleteById(employee.getId());
+        assertThat(totals()).isEqualTo(before);
+    }
+
+    @Test
+    void averageIsReadFromTheSharedTotals() throws Exception {
+        Totals before = totals();
+        // as another instance would have moved them, without this one hearing about it
+        String move = "update promotion_totals set promotions = promotions + ?, interval_days = interval_days + ?"
+                + " where slot = 7";
+        this.jdbc.update(move, 1, 400);
+        try {
+            assertThat(totals().minus(before)).isEqualTo(new Totals(1, 400));
+        } finally {
+            this.jdbc.update(move, -1, -400);
+        }
+        assertThat(totals()).isEqualTo(before);
+    }
+
+    @Test
+    void totalsMatchThePromotionTable() throws Exception {
+        Employee employee = newEmployee();
+        contract(employee, 50000f, START);
+        Contract raise = contract(employee, 60000f, START.plusDays(100));
+        contract(employee, 80000f, START.plusDays(300));
+        this.contractService.deleteById(raise.getId());
+
+        Totals counted = this.jdbc.queryForObject(
+                "select count(*), coalesce(sum(interval_days), 0) from promotion_events",
+                (rs, n) -> new Totals(rs.getLong(1), rs.getLong(2)));
+        assertThat(totals()).isEqualTo(counted);
+        this.employeeService.deleteById(employee.getId());
+    }
+
+    @Test
+    void rebuildRecomputesTheSameHistory() throws Exception {
+        Employee employee = newEmployee();
+        contract(employee, 50000f, START);
+        contract(employee, 60000f, START.plusDays(200));
+        Totals before = totals();
+
+        this.jdbc.update("delete from promotion_events");
+        this.jdbc.update("delete from promotion_status");
+        this.promotionService.rebuildIfEmpty();
+
+        assertThat(totals()).isEqualTo(before);
+        this.employeeService.deleteById(employee.getId());
+    }
+
+    private Totals totals() throws Exception {
+        String body = this.mockMvc.perform(get("/analytics/promotions/average-interval"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        PromotionIntervalDto interval = this.mapper.readValue(body, PromotionIntervalDto.class);
+        if (interval.promotions() == 0) {
+            assertThat(interval.averageDays()).isNull();
+            return new Totals(0, 0);
+        }
+        return new Totals(interval.promotions(), Math.round(interval.averageDays() * interval.promotions()));
+    }
+
+    private Employee newEmployee() {
+        return this.employeeService.create(new CreateEmployeeDto("Promoted", "Person", LocalDate.of(1985, 1, 1)));
+    }
+
+    private Contract contract(Employee employee, float salary, LocalDate startDate) {
+        return this.contractService.createContract(new CreateContractDto("Engineer", salary, startDate, null,
+                employee.getId(), this.department.getId()));
+    }
+
+    private record Totals(long promotions, long intervalDays) {
+        Totals minus(Totals other) {
+            return new Totals(this.promotions - other.promotions, this.intervalDays - other.intervalDays);
+        }
+    }
+}
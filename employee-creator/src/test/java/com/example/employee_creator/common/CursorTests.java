@@ -0,0 +1,45 @@
+package com.example.employee_creator.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class CursorTests {
+
+    @Test
+    void decodesWhatItEncodes() {
+        for (Cursor cursor : new Cursor[] {
+                new Cursor("Smith", 42),
+                new Cursor("", 1),
+                new Cursor("Nguyễn:Đức 名前", Long.MAX_VALUE) }) {
+            String token = cursor.encode();
+            assertThat(token).matches("[A-Za-z0-9_-]+");
+            assertThat(Cursor.decode(token)).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void tamperedTokensAreRejected() {
+        String valid = new Cursor("Smith", 42).encode();
+        for (String token : new String[] {
+                "",
+                "not base64!",
+                valid.substring(0, valid.length() - 1) + "*",
+                encode("Smith"),
+                encode(":Smith"),
+                encode("4x2:Smith"),
+                encode("99999999999999999999:Smith") }) {
+            assertThatThrownBy(() -> Cursor.decode(token)).as(token)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
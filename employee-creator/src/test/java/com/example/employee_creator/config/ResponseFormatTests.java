@@ -0,0 +1,124 @@
+package com.example.employee_creator.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.employee_creator.contract.ContractService;
+import com.example.employee_creator.contract.dtos.CreateContractDto;
+import com.example.employee_creator.department.DepartmentService;
+import com.example.employee_creator.department.dtos.CreateDepartmentDto;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.EmployeeService;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResponseFormatTests {
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private ContractService contractService;
+    @Autowired
+    private DepartmentService departmentService;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        Department department = this.departmentService
+                .createDepartment(new CreateDepartmentDto("Formats " + System.nanoTime(), "Formats"));
+        this.employee = this.employeeService.create(new CreateEmployeeDto("Binary", "Format", LocalDate.of(1990, 1, 1)));
+        this.contractService.createContract(new CreateContractDto("Engineer", 61234.5f, LocalDate.of(2020, 1, 1), null,
+                this.employee.getId(), department.getId()));
+    }
+
+    @Test
+    void cborAndSmileCarryTheSameDocumentAsJson() throws Exception {
+        for (String path : new String[] { "/employees?size=5", "/employees/" + this.employee.getId(),
+                "/employees/" + this.employee.getId() + "/contracts" }) {
+            // as text: the binary formats keep salary a float where JSON reads back a double
+            String json = new ObjectMapper().readTree(body(path, MediaType.APPLICATION_JSON)).toString();
+            assertThat(new CBORMapper().readTree(body(path, CBOR)).toString()).as(path).isEqualTo(json);
+            assertThat(new SmileMapper().readTree(body(path, SMILE)).toString()).as(path).isEqualTo(json);
+        }
+    }
+
+    @Test
+    void protobufFollowsTheSchema() throws Exception {
+        ProtobufMapper mapper = new ProtobufMapper();
+        ProtobufSchema schema;
+        try (var in = new ClassPathResource(ProtobufDtoHttpMessageConverter.SCHEMA).getInputStream()) {
+            schema = ProtobufSchemaLoader.std.load(in);
+        }
+
+        JsonNode contracts = mapper.readerFor(JsonNode.class).with(schema.withRootType("ContractList"))
+                .readValue(body("/employees/" + this.employee.getId() + "/contracts",
+                        ProtobufDtoHttpMessageConverter.PROTOBUF));
+        assertThat(contracts.get("contracts")).hasSize(1);
+        assertThat(contracts.at("/contracts/0/job_title").asText()).isEqualTo("Engineer");
+        assertThat(contracts.at("/contracts/0/start_date").asText()).isEqualTo("2020-01-01");
+        assertThat(contracts.at("/contracts/0/is_active").asBoolean()).isTrue();
+        assertThat(contracts.at("/contracts/0/end_date").isMissingNode()).isTrue();
+
+        JsonNode json = new ObjectMapper().readTree(body("/employees?size=5", MediaType.APPLICATION_JSON));
+        JsonNode page = mapper.readerFor(JsonNode.class).with(schema.withRootType("EmployeePage"))
+                .readValue(body("/employees?size=5", ProtobufDtoHttpMessageConverter.PROTOBUF));
+        assertThat(page.get("results_per_page").asInt()).isEqualTo(5);
+        assertThat(page.get("total_results").asLong()).isEqualTo(json.get("totalResults").asLong());
+        assertThat(page.get("data")).hasSameSizeAs(json.get("data"));
+
+        JsonNode employee = mapper.readerFor(JsonNode.class).with(schema.withRootType("EnrichedEmployeeDto"))
+                .readValue(body("/employees/" + this.employee.getId(), ProtobufDtoHttpMessageConverter.PROTOBUF));
+        assertThat(employee.get("first_name").asText()).isEqualTo("Binary");
+        assertThat(employee.get("job_title").asText()).isEqualTo("Engineer");
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        this.mockMvc.perform(get("/employees/{id}", this.employee.getId()).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        // nothing in the schema for it, so no Protobuf
+        this.mockMvc.perform(get("/employees/top-paid").accept(ProtobufDtoHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    private byte[] body(String path, MediaType accept) throws Exception {
+        return this.mockMvc.perform(get(path).accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
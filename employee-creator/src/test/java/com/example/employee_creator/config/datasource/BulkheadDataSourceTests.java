@@ -0,0 +1,102 @@
+package com.example.employee_creator.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadDataSourceTests {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final BulkheadDataSource bulkhead = new BulkheadDataSource(h2(), "test", 1, Duration.ofMillis(100),
+            this.registry);
+
+    @Test
+    void otherThreadsWaitForThePermitAndTimeOut() throws Exception {
+        try (Connection held = this.bulkhead.getConnection()) {
+            assertThat(CompletableFuture.supplyAsync(this::openOrNull).get(5, TimeUnit.SECONDS)).isNull();
+            assertThat(this.registry.get("app.db.bulkhead.rejected").counter().count()).isEqualTo(1);
+        }
+        assertThat(available()).isEqualTo(1);
+    }
+
+    @Test
+    void nestedConnectionsNeedNoSecondPermit() throws Exception {
+        try (Connection outer = this.bulkhead.getConnection()) {
+            try (Connection inner = this.bulkhead.getConnection()) {
+                assertThat(inner).isNotSameAs(outer);
+                assertThat(available()).isZero();
+            }
+            // the outer connection still holds the permit
+            assertThat(available()).isZero();
+            assertThat(CompletableFuture.supplyAsync(this::openOrNull).get(5, TimeUnit.SECONDS)).isNull();
+        }
+        assertThat(available()).isEqualTo(1);
+
+        // nothing is left counted against the thread
+        try (Connection again = this.bulkhead.getConnection()) {
+            assertThat(available()).isZero();
+        }
+        assertThat(available()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionsClosedOnAnotherThreadStillReturnTheirPermit() throws Exception {
+        Connection connection = this.bulkhead.getConnection();
+        CompletableFuture.runAsync(() -> close(connection)).get(5, TimeUnit.SECONDS);
+        assertThat(available()).isEqualTo(1);
+
+        // and the opening thread queues again instead of passing as nested
+        Connection held = CompletableFuture.supplyAsync(this::open).get(5, TimeUnit.SECONDS);
+        try {
+            assertThatThrownBy(this.bulkhead::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        } finally {
+            held.close();
+        }
+    }
+
+    private double available() {
+        return this.registry.get("app.db.bulkhead.available").gauge().value();
+    }
+
+    private Connection open() {
+        try {
+            return this.bulkhead.getConnection();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Connection openOrNull() {
+        try {
+            return this.bulkhead.getConnection();
+        } catch (SQLTransientConnectionException e) {
+            return null;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bulkhead");
+        return dataSource;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.employee_creator.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.apache.coyote.BadRequestException;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Two embedded databases standing in for a primary and a replica that never
+ * catches up, so where a row can be read from shows which pool served it.
+ * Reads go through MockMvc: the test thread wrote during startup, so outside
+ * a request it would still be reading its own writes from the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTests.PRIMARY_URL,
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=" + ReplicaRoutingTests.REPLICA_URL,
+        "app.datasource.replicas.read-your-writes-window=1m",
+        "app.db.bulkhead.enabled=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingTests {
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final long REPLICA_ONLY_ID = 900_001L;
+    private static final long LAGGING_ID = 900_002L;
+    private static final String LAGGING_INSERT = "insert into employees "
+            + "(id, first_name, last_name, email, date_of_birth, version) "
+            + "values (?, ?, 'Lagging', 'lagging@example.com', date '1990-01-01', 1)";
+
+    private static JdbcTemplate primaryJdbc;
+    private static JdbcTemplate replicaJdbc;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeAll
+    static void setUpReplica() {
+        // the application only migrates the primary
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        primaryJdbc = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+        replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replicaJdbc.update("delete from employees where id = ?", REPLICA_ONLY_ID);
+        replicaJdbc.update("insert into employees (id, first_name, last_name, email, date_of_birth, version) "
+                + "values (?, 'Replica', 'Only', 'replica.only@example.com', date '1990-01-01', 0)", REPLICA_ONLY_ID);
+        replicaJdbc.update("delete from employees where id = ?", LAGGING_ID);
+        replicaJdbc.update(LAGGING_INSERT, LAGGING_ID, "Stale");
+    }
+
+    @Test
+    void everyPoolSitsBehindItsOwnBulkhead() throws Exception {
+        long primaryWaits = bulkheadWaits("primary");
+        long replicaWaits = bulkheadWaits("replica-1");
+
+        this.mockMvc.perform(get("/employees/{id}", REPLICA_ONLY_ID)).andExpect(status().isOk());
+        assertThat(bulkheadWaits("replica-1")).isGreaterThan(replicaWaits);
+        this.mockMvc.perform(post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Guarded\",\"lastName\":\"Write\",\"dateOfBirth\":\"1990-01-01\"}"))
+                .andExpect(status().isCreated());
+        assertThat(bulkheadWaits("primary")).isGreaterThan(primaryWaits);
+        // every permit is back once the requests are done
+        assertThat(this.registry.get("app.db.bulkhead.available").tag("pool", "replica-1").gauge().value())
+                .isEqualTo(this.registry.get("hikaricp.connections.max").tag("pool", "replica-1").gauge().value()
+                        - DataSourceBulkheadConfig.DEFAULT_RESERVE);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() throws Exception {
+        this.mockMvc.perform(get("/employees/{id}", REPLICA_ONLY_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Replica"));
+    }
+
+    @Test
+    void writesGoToThePrimaryAndItsClientReadsThemBack() throws Exception {
+        MvcResult created = this.mockMvc.perform(post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Primary\",\"lastName\":\"Write\",\"dateOfBirth\":\"1990-01-01\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE))
+                .andReturn();
+        long id = this.mapper.readValue(created.getResponse().getContentAsString(), JsonNode.class).get("id").asLong();
+        Cookie window = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        assertThat(primaryJdbc.queryForObject("select count(*) from employees where id = ?", Long.class, id))
+                .isEqualTo(1);
+        assertThat(replicaJdbc.queryForObject("select count(*) from employees where id = ?", Long.class, id))
+                .isZero();
+
+        this.mockMvc.perform(get("/employees/{id}", id).cookie(window))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Primary"));
+        // anyone else reads the replica, which hasn't seen it
+        assertThatThrownBy(() -> this.mockMvc.perform(get("/employees/{id}", id)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void patchesReadWhatTheyModifyFromThePrimary() throws Exception {
+        // renamed on the primary, the replica still has the old name
+        primaryJdbc.update(LAGGING_INSERT, LAGGING_ID, "Current");
+
+        this.mockMvc.perform(patch("/employees/{id}", LAGGING_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"Patched\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Current"));
+
+        assertThat(primaryJdbc.queryForObject("select first_name || ' ' || last_name from employees where id = ?",
+                String.class, LAGGING_ID)).isEqualTo("Current Patched");
+    }
+
+    @Test
+    void searchCachesFillFromThePrimary() throws Exception {
+        String lastName = "Unreplicated" + System.nanoTime();
+        this.mockMvc.perform(post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Cache\",\"lastName\":\"" + lastName + "\",\"dateOfBirth\":\"1990-01-01\"}"))
+                .andExpect(status().isCreated());
+
+        // another client, so nothing pins it to the primary; the page it caches is what everyone gets next
+        String search = "/employees?searchBy=name&searchTerm=" + lastName;
+        this.mockMvc.perform(get(search))
+                .andExpect(jsonPath("$.data[0].lastName").value(lastName));
+        this.mockMvc.perform(get(search + "&pagination=cursor&includeTotal=true"))
+                .andExpect(jsonPath("$.data[0].lastName").value(lastName))
+                .andExpect(jsonPath("$.totalResults").value(1));
+        assertThat(this.registry.get("app.db.route").tag("pool", "primary").tag("reason", "cache-fill")
+                .counter().count()).isPositive();
+    }
+
+    @Test
+    void eachPoolReportsItsOwnMetrics() throws Exception {
+        this.mockMvc.perform(get("/employees/{id}", REPLICA_ONLY_ID)).andExpect(status().isOk());
+
+        assertThat(this.registry.find("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(this.registry.find("hikaricp.connections").tag("pool", "replica-1").gauge()).isNotNull();
+        assertThat(this.registry.get("app.db.route").tag("pool", "replica-1").tag("reason", "read-only")
+                .counter().count()).isPositive();
+    }
+
+    private long bulkheadWaits(String pool) {
+        return this.registry.get("app.db.bulkhead.wait").tag("pool", pool).timer().count();
+    }
+}
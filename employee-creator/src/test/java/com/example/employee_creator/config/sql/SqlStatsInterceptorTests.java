@@ -0,0 +1,45 @@
+package com.example.employee_creator.config.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * MockMvc dispatches on the test thread, so whatever the interceptor leaves
+ * bound is visible here.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlStatsInterceptorTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void asyncHandlersLeaveNothingBoundToTheRequestThread() throws Exception {
+        MvcResult started = this.mockMvc.perform(get("/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(SqlRequestStats.current()).isNull();
+
+        this.mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        assertThat(SqlRequestStats.current()).isNull();
+    }
+
+    @Test
+    void synchronousHandlersClearTheirStatsOnCompletion() throws Exception {
+        this.mockMvc.perform(get("/employees")).andExpect(status().isOk());
+        assertThat(SqlRequestStats.current()).isNull();
+    }
+}
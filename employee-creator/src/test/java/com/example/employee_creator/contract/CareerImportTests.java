@@ -0,0 +1,159 @@
+package com.example.employee_creator.contract;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.coyote.BadRequestException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.employee_creator.contract.dtos.CreateContractDto;
+import com.example.employee_creator.contract.entities.Contract;
+import com.example.employee_creator.department.DepartmentService;
+import com.example.employee_creator.department.dtos.CreateDepartmentDto;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.CurrentPositionRepository;
+import com.example.employee_creator.employee.EmployeeService;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CareerImportTests {
+    private static final LocalDate START = LocalDate.of(2010, 1, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private ContractService contractService;
+    @Autowired
+    private ContractRepository contractRepository;
+    @Autowired
+    private CurrentPositionRepository positionRepository;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private TransactionTemplate tx;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        this.department = this.departmentService
+                .createDepartment(new CreateDepartmentDto("Careers " + System.nanoTime(), "Careers"));
+    }
+
+    @Test
+    void importClosesOutOpenContractAndDerivesEndDates() throws Exception {
+        Employee employee = newEmployee();
+        this.contractService.createContract(new CreateContractDto("Intern", 30000f, START.minusYears(1), null,
+                employee.getId(), this.department.getId()));
+
+        List<Map<String, Object>> career = career(3);
+        career.get(1).put("endDate", START.plusYears(1).plusMonths(6).toString());
+
+        this.mockMvc.perform(post("/employees/{id}/contracts/batch", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.mapper.writeValueAsString(career)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].endDate").value(START.plusYears(1).minusDays(1).toString()))
+                .andExpect(jsonPath("$[1].endDate").value(START.plusYears(1).plusMonths(6).toString()))
+                .andExpect(jsonPath("$[2].endDate").isEmpty())
+                .andExpect(jsonPath("$[0].isActive").value(false))
+                .andExpect(jsonPath("$[1].isActive").value(false))
+                .andExpect(jsonPath("$[2].isActive").value(true));
+
+        this.tx.executeWithoutResult(status -> {
+            List<Contract> saved = this.contractRepository.findByEmployeeOrderByStartDateAscIdAsc(employee);
+            assertThat(saved).hasSize(4);
+            assertThat(saved.get(0).getEndDate()).isEqualTo(START.minusDays(1));
+            assertThat(saved.stream().filter(Contract::isActive)).containsExactly(saved.get(3));
+            assertThat(this.positionRepository.findById(employee.getId()).orElseThrow().getContractId())
+                    .isEqualTo(saved.get(3).getId());
+        });
+    }
+
+    @Test
+    void importRunsFixedStatementCount() throws Exception {
+        Statistics statistics = this.emf.unwrap(SessionFactory.class).getStatistics();
+        // the first import in a context also pays for one-off setup
+        importCareer(newEmployee(), 2);
+
+        statistics.clear();
+        importCareer(newEmployee(), 2);
+        long shortCareer = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        importCareer(newEmployee(), 40);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(shortCareer);
+    }
+
+    @Test
+    void overlappingCareerIsRejectedWithoutWriting() throws Exception {
+        Employee employee = newEmployee();
+        List<Map<String, Object>> career = career(3);
+        career.get(0).put("endDate", START.plusYears(1).toString());
+
+        // MockMvc has no container to turn it into a 400
+        assertThatThrownBy(() -> this.mockMvc.perform(post("/employees/{id}/contracts/batch", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.mapper.writeValueAsString(career))))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("[0] overlaps [1]");
+
+        this.tx.executeWithoutResult(status -> assertThat(
+                this.contractRepository.findByEmployeeOrderByStartDateAscIdAsc(employee)).isEmpty());
+    }
+
+    private void importCareer(Employee employee, int length) throws Exception {
+        this.mockMvc.perform(post("/employees/{id}/contracts/batch", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.mapper.writeValueAsString(career(length))))
+                .andExpect(status().isCreated());
+    }
+
+    private List<Map<String, Object>> career(int length) {
+        List<Map<String, Object>> career = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            career.add(new HashMap<>(Map.of(
+                    "jobTitle", "Role " + i,
+                    "salary", 50000f + i * 1000,
+                    "startDate", START.plusYears(i).toString(),
+                    "departmentId", this.department.getId())));
+        }
+        return career;
+    }
+
+    private Employee newEmployee() {
+        return this.employeeService.create(new CreateEmployeeDto("Career", "Import", LocalDate.of(1990, 1, 1)));
+    }
+}
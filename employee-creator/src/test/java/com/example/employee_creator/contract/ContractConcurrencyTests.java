@@ -0,0 +1,256 @@
+package com.example.employee_creator.contract;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.employee_creator.contract.dtos.CreateContractDto;
+import com.example.employee_creator.contract.dtos.UpdateContractDto;
+import com.example.employee_creator.contract.entities.Contract;
+import com.example.employee_creator.department.DepartmentService;
+import com.example.employee_creator.department.dtos.CreateDepartmentDto;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.CurrentPositionRepository;
+import com.example.employee_creator.employee.EmployeeService;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.dtos.UpdateEmployeeDto;
+import com.example.employee_creator.employee.entities.CurrentPosition;
+import com.example.employee_creator.employee.entities.Employee;
+
+/**
+ * Contracts added from many threads at once. The striped locks are off, so
+ * writers to one career only meet in the database, as they would on separate
+ * instances. Whatever the interleaving, each employee must end up
+ * with exactly one active contract, the one added last, and a current
+ * position pointing at it, and renames made meanwhile must land too, as
+ * must patches and deletes of its contracts.
+ * {@link WithStripes} repeats the contract writes with the locks on.
+ */
+@SpringBootTest(properties = "app.contracts.lock-stripes=0")
+@ActiveProfiles("test")
+class ContractConcurrencyTests {
+    private static final int THREADS = 8;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private ContractService contractService;
+    @Autowired
+    private ContractRepository contractRepository;
+    @Autowired
+    private CurrentPositionRepository positionRepository;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private TransactionTemplate tx;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        this.department = this.departmentService
+                .createDepartment(new CreateDepartmentDto("Concurrency " + System.nanoTime(), "Concurrency"));
+    }
+
+    @Test
+    void concurrentPromotionsOfOneEmployeeLeaveOneActiveContract() throws Exception {
+        Employee employee = newEmployee();
+        int perThread = 5;
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < perThread; i++) {
+                addContract(employee, "Role " + thread + "." + i);
+            }
+        });
+
+        assertSingleActiveContract(employee, THREADS * perThread);
+    }
+
+    @Test
+    void concurrentWritesAcrossEmployeesAllLand() throws Exception {
+        List<Employee> employees = IntStream.range(0, 4 * THREADS).mapToObj(i -> newEmployee()).toList();
+
+        // every thread adds one contract to every employee, each in its own order
+        runConcurrently(thread -> {
+            List<Employee> order = new ArrayList<>(employees);
+            Collections.shuffle(order);
+            order.forEach(e -> addContract(e, "Role " + thread));
+        });
+
+        for (Employee employee : employees) {
+            assertSingleActiveContract(employee, THREADS);
+        }
+    }
+
+    @Test
+    void renamesAlongsideContractWritesAllLand() throws Exception {
+        Employee employee = newEmployee();
+        int perThread = 5;
+
+        // every contract write bumps the employee's version, under the renames' feet
+        runConcurrently(thread -> {
+            for (int i = 0; i < perThread; i++) {
+                if (thread % 2 == 0) {
+                    addContract(employee, "Role " + thread + "." + i);
+                } else {
+                    this.employeeService
+                            .updateById(employee.getId(), new UpdateEmployeeDto("Renamed " + thread, null, null))
+                            .orElseThrow();
+                }
+            }
+        });
+
+        assertSingleActiveContract(employee, THREADS / 2 * perThread);
+        assertThat(this.employeeService.findById(employee.getId()).orElseThrow().getFirstName())
+                .startsWith("Renamed");
+    }
+
+    @Test
+    void concurrentPatchesAndDeletesOfOneCareerAllLand() throws Exception {
+        patchesAndDeletesAllLand();
+    }
+
+    /**
+     * Four stripes, so different employees share them as well: writers queue on
+     * the lock instead of meeting in the database, without losing any writes.
+     */
+    @Nested
+    @TestPropertySource(properties = "app.contracts.lock-stripes=4")
+    class WithStripes {
+
+        @Test
+        void promotionsOfOneEmployeeLeaveOneActiveContract() throws Exception {
+            Employee employee = newEmployee();
+            int perThread = 5;
+
+            runConcurrently(thread -> {
+                for (int i = 0; i < perThread; i++) {
+                    addContract(employee, "Role " + thread + "." + i);
+                }
+            });
+
+            assertSingleActiveContract(employee, THREADS * perThread);
+        }
+
+        @Test
+        void writesAcrossEmployeesSharingStripesAllLand() throws Exception {
+            List<Employee> employees = IntStream.range(0, 4 * THREADS).mapToObj(i -> newEmployee()).toList();
+
+            runConcurrently(thread -> {
+                List<Employee> order = new ArrayList<>(employees);
+                Collections.shuffle(order);
+                order.forEach(e -> addContract(e, "Role " + thread));
+            });
+
+            for (Employee employee : employees) {
+                assertSingleActiveContract(employee, THREADS);
+            }
+        }
+
+        @Test
+        void patchesAndDeletesOfOneCareerAllLand() throws Exception {
+            ContractConcurrencyTests.this.patchesAndDeletesAllLand();
+        }
+    }
+
+    /**
+     * Half the threads retitle the active contract while the other half move its
+     * end date and delete the older contracts. Each patch sets one field, so one
+     * made from a stale read would write the other field back.
+     */
+    private void patchesAndDeletesAllLand() throws Exception {
+        Employee employee = newEmployee();
+        int perThread = 5;
+        List<Contract> older = IntStream.range(0, THREADS / 2 * perThread)
+                .mapToObj(i -> addContract(employee, "Old " + i)).toList();
+        Contract current = addContract(employee, "Current");
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < perThread; i++) {
+                if (thread % 2 == 0) {
+                    this.contractService.updateById(current.getId(),
+                            new UpdateContractDto("Title " + thread + "." + i, null, null, null, null, null))
+                            .orElseThrow();
+                } else {
+                    this.contractService.updateById(current.getId(), new UpdateContractDto(null, null, null,
+                            START.plusYears(5).plusDays(thread), null, null)).orElseThrow();
+                    assertThat(this.contractService.deleteById(older.get(thread / 2 * perThread + i).getId()))
+                            .isTrue();
+                }
+            }
+        });
+
+        assertSingleActiveContract(employee, 1);
+        Contract patched = this.contractRepository.findById(current.getId()).orElseThrow();
+        assertThat(patched.getJobTitle()).matches("Title \\d\\.4");
+        assertThat(patched.getEndDate()).isAfter(START.plusYears(5));
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void assertSingleActiveContract(Employee employee, int expectedContracts) {
+        this.tx.executeWithoutResult(status -> {
+            List<Contract> career = this.contractRepository.findByEmployeeOrderByStartDateAscIdAsc(employee);
+            assertThat(career).hasSize(expectedContracts);
+
+            List<Contract> active = career.stream().filter(Contract::isActive).toList();
+            Contract latest = career.get(career.size() - 1);
+            assertThat(active).as("active contracts of employee %d", employee.getId()).containsExactly(latest);
+
+            CurrentPosition position = this.positionRepository.findById(employee.getId()).orElseThrow();
+            assertThat(position.getContractId()).isEqualTo(latest.getId());
+        });
+    }
+
+    private Contract addContract(Employee employee, String jobTitle) {
+        // same start date throughout, so each new contract closes whichever one was added before it
+        return this.contractService.createContract(new CreateContractDto(jobTitle, 60000f, START, null,
+                employee.getId(), this.department.getId()));
+    }
+
+    private Employee newEmployee() {
+        return this.employeeService.create(new CreateEmployeeDto("Con", "Current", LocalDate.of(1990, 1, 1)));
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.employee_creator.department;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.events.ChangeEvent.Action;
+import com.example.employee_creator.events.ChangeEvent.Entity;
+import com.example.employee_creator.events.ChangeEventBus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs outside any transaction, where the bus delivers events as they are
+ * published, which stands in for a department write committing.
+ */
+class DepartmentCacheTests {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ChangeEventBus events = new ChangeEventBus(this.registry, 16);
+    private final DepartmentRepository repo = mock(DepartmentRepository.class);
+    private final AtomicReference<String> name = new AtomicReference<>("Engineering");
+
+    private DepartmentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(this.repo.findById(1L)).thenAnswer(call -> Optional.of(department(this.name.get())));
+        when(this.repo.findByNameIgnoreCase(any())).thenAnswer(call -> Optional.of(department(this.name.get())));
+        this.cache = new DepartmentCache(this.repo, this.events, mock(PlatformTransactionManager.class),
+                this.registry);
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromMemory() {
+        this.cache.findById(1L);
+        Department second = this.cache.findById(1L).orElseThrow();
+        assertThat(this.cache.findIdByName("  ENGINEERING ")).contains(1L);
+
+        verify(this.repo, times(1)).findById(1L);
+        assertThat(second.getName()).isEqualTo("Engineering");
+        assertThat(count("id", "hit")).isEqualTo(1);
+        assertThat(count("id", "miss")).isEqualTo(1);
+        assertThat(count("name", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void everyLookupGetsItsOwnInstance() {
+        Department first = this.cache.findById(1L).orElseThrow();
+        first.setName("Changed by a caller");
+
+        Department second = this.cache.findById(1L).orElseThrow();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("Engineering");
+        assertThat(second.getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void departmentWritesClearTheCache() {
+        this.cache.findById(1L);
+        this.name.set("Platform");
+        assertThat(this.cache.findById(1L).orElseThrow().getName()).isEqualTo("Engineering");
+
+        this.events.publish(Entity.DEPARTMENT, Action.UPDATED, 1L, null);
+        assertThat(this.cache.findById(1L).orElseThrow().getName()).isEqualTo("Platform");
+        assertThat(this.cache.findIdByName("platform")).contains(1L);
+
+        // other writes leave it alone
+        this.events.publish(Entity.EMPLOYEE, Action.UPDATED, 1L, 1L);
+        this.cache.findById(1L);
+        verify(this.repo, times(2)).findById(1L);
+    }
+
+    @Test
+    void loadsThatRaceAClearAreNotKept() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch cleared = new CountDownLatch(1);
+        when(this.repo.findById(1L)).thenAnswer(call -> {
+            Department old = department(this.name.get());
+            loading.countDown();
+            cleared.await(5, TimeUnit.SECONDS);
+            return Optional.of(old);
+        }).thenAnswer(call -> Optional.of(department(this.name.get())));
+
+        CompletableFuture<Optional<Department>> slow = CompletableFuture.supplyAsync(() -> this.cache.findById(1L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        this.name.set("Platform");
+        this.events.publish(Entity.DEPARTMENT, Action.UPDATED, 1L, null);
+        cleared.countDown();
+
+        // the caller still gets what it read, but the next lookup doesn't
+        assertThat(slow.get(5, TimeUnit.SECONDS).orElseThrow().getName()).isEqualTo("Engineering");
+        assertThat(this.cache.findById(1L).orElseThrow().getName()).isEqualTo("Platform");
+    }
+
+    @Test
+    void concurrentLookupsAgree() {
+        List<CompletableFuture<Department>> lookups = IntStream.range(0, 16)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> this.cache.findById(1L).orElseThrow()))
+                .toList();
+
+        List<Department> found = lookups.stream().map(CompletableFuture::join).toList();
+        assertThat(found).extracting(Department::getName).containsOnly("Engineering");
+        assertThat(found).doesNotHaveDuplicates();
+        assertThat(count("id", "hit") + count("id", "miss")).isEqualTo(16);
+    }
+
+    private double count(String key, String result) {
+        return this.registry.get("app.department.cache").tag("key", key).tag("result", result).counter().count();
+    }
+
+    private static Department department(String name) {
+        Department department = new Department();
+        department.setId(1L);
+        department.setName(name);
+        department.setVersion(3L);
+        return department;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.employee_creator.department;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.apache.coyote.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.employee_creator.contract.ContractService;
+import com.example.employee_creator.contract.dtos.CreateContractDto;
+import com.example.employee_creator.department.dtos.CreateDepartmentDto;
+import com.example.employee_creator.department.dtos.SalaryEntryDto;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.CurrentPositionService;
+import com.example.employee_creator.employee.EmployeeService;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DepartmentStatsTests {
+    private static final LocalDate START = LocalDate.of(2018, 3, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private DepartmentStatsService statsService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private ContractService contractService;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        this.department = this.departmentService
+                .createDepartment(new CreateDepartmentDto("Stats " + System.nanoTime(), "Stats"));
+    }
+
+    @Test
+    void statsFollowHiresRaisesAndDeparturesPerJobTitle() throws Exception {
+        Employee first = hire("Engineer", 100_000f);
+        hire("Engineer", 120_000f);
+        Employee manager = hire("Manager", 150_000f);
+
+        this.mockMvc.perform(get("/departments/{id}/stats", this.department.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(this.department.getName()))
+                .andExpect(jsonPath("$.salaries.headcount").value(3))
+                .andExpect(jsonPath("$.salaries.averageSalary", closeTo(123_333.33, 0.01)))
+                .andExpect(jsonPath("$.salaries.minSalary", closeTo(100_000, 1_000)))
+                .andExpect(jsonPath("$.salaries.maxSalary", closeTo(150_000, 1_500)))
+                .andExpect(jsonPath("$.jobTitles.length()").value(2))
+                .andExpect(jsonPath("$.jobTitles[0].jobTitle").value("Engineer"))
+                .andExpect(jsonPath("$.jobTitles[0].salaries.headcount").value(2))
+                .andExpect(jsonPath("$.jobTitles[0].salaries.averageSalary", closeTo(110_000, 0.01)))
+                .andExpect(jsonPath("$.jobTitles[1].jobTitle").value("Manager"));
+
+        // a raise replaces the engineer's salary rather than adding a second one
+        this.contractService.createContract(new CreateContractDto("Engineer", 130_000f, START.plusYears(1), null,
+                first.getId(), this.department.getId()));
+        this.employeeService.deleteById(manager.getId());
+
+        this.mockMvc.perform(get("/departments/{id}/stats", this.department.getId()))
+                .andExpect(jsonPath("$.salaries.headcount").value(2))
+                .andExpect(jsonPath("$.salaries.averageSalary", closeTo(125_000, 0.01)))
+                .andExpect(jsonPath("$.salaries.minSalary", closeTo(120_000, 1_200)))
+                .andExpect(jsonPath("$.jobTitles.length()").value(1))
+                .andExpect(jsonPath("$.jobTitles[0].jobTitle").value("Engineer"));
+        String perDepartment = stats();
+        assertThat(this.mockMvc.perform(get("/departments/stats")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).contains(perDepartment);
+    }
+
+    @Test
+    void rebuildingFromPositionsMatchesTheIncrementalState() throws Exception {
+        Employee moved = hire("Analyst", 55_000f);
+        hire("Analyst", 65_000f);
+        this.contractService.createContract(new CreateContractDto("Lead Analyst", 80_000f, START.plusYears(2), null,
+                moved.getId(), this.department.getId()));
+        String incremental = stats();
+
+        this.statsService.rebuild();
+
+        assertThat(stats()).isEqualTo(incremental);
+    }
+
+    // after-commit hooks of two writes to one employee can run in either order
+    @Test
+    void changesAppliedOutOfOrderKeepTheNewest() throws Exception {
+        long employeeId = -System.nanoTime();
+        Long departmentId = this.department.getId();
+        this.statsService.update(employeeId, 7, new SalaryEntryDto(employeeId, departmentId, "Engineer", 90_000f));
+        this.statsService.update(employeeId, 6, new SalaryEntryDto(employeeId, departmentId, "Engineer", 70_000f));
+
+        this.mockMvc.perform(get("/departments/{id}/stats", departmentId))
+                .andExpect(jsonPath("$.salaries.headcount").value(1))
+                .andExpect(jsonPath("$.salaries.averageSalary", closeTo(90_000, 0.01)));
+
+        this.statsService.update(employeeId, CurrentPositionService.REMOVED, null);
+        this.statsService.update(employeeId, 8, new SalaryEntryDto(employeeId, departmentId, "Engineer", 95_000f));
+
+        this.mockMvc.perform(get("/departments/{id}/stats", departmentId))
+                .andExpect(jsonPath("$.salaries.headcount").value(0));
+    }
+
+    @Test
+    void departmentsWithNobodyHaveZeroHeadcount() throws Exception {
+        this.mockMvc.perform(get("/departments/{id}/stats", this.department.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.salaries.headcount").value(0))
+                .andExpect(jsonPath("$.salaries.medianSalary").doesNotExist())
+                .andExpect(jsonPath("$.jobTitles").isEmpty());
+        assertThatThrownBy(() -> this.mockMvc.perform(get("/departments/{id}/stats", Long.MAX_VALUE)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private Employee hire(String jobTitle, float salary) {
+        Employee employee = this.employeeService
+                .create(new CreateEmployeeDto("Stats", "Person", LocalDate.of(1988, 4, 2)));
+        this.contractService.createContract(new CreateContractDto(jobTitle, salary, START, null,
+                employee.getId(), this.department.getId()));
+        return employee;
+    }
+
+    private String stats() throws Exception {
+        return this.mockMvc.perform(get("/departments/{id}/stats", this.department.getId()))
+                .andReturn().getResponse().getContentAsString();
+    }
+}
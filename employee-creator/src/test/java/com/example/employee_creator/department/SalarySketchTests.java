@@ -0,0 +1,87 @@
+package com.example.employee_creator.department;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SalarySketchTests {
+    private static final double[] QUANTILES = { 0, 0.25, 0.5, 0.75, 0.9, 0.99, 1 };
+
+    @Test
+    void quantilesAreWithinTheRelativeAccuracy() {
+        double[] salaries = salaries(20_000, 7);
+        SalarySketch sketch = sketchOf(salaries);
+        Arrays.sort(salaries);
+
+        assertThat(sketch.count()).isEqualTo(salaries.length);
+        assertThat(sketch.sum()).isCloseTo(Arrays.stream(salaries).sum(), withinPercentage(1e-9));
+        for (double q : QUANTILES) {
+            double exact = salaries[(int) Math.floor(q * (salaries.length - 1))];
+            assertThat(sketch.quantile(q)).as("q=%s", q)
+                    .isCloseTo(exact, withinPercentage(SalarySketch.RELATIVE_ACCURACY * 100));
+        }
+    }
+
+    @Test
+    void removingValuesLeavesTheSketchOfTheRest() {
+        double[] salaries = salaries(5_000, 11);
+        SalarySketch sketch = sketchOf(salaries);
+        double[] kept = Arrays.copyOfRange(salaries, 0, 3_000);
+        for (int i = kept.length; i < salaries.length; i++) {
+            assertThat(sketch.remove(salaries[i])).isTrue();
+        }
+
+        SalarySketch expected = sketchOf(kept);
+        assertThat(sketch.count()).isEqualTo(kept.length);
+        assertThat(sketch.sum()).isCloseTo(expected.sum(), withinPercentage(1e-6));
+        for (double q : QUANTILES) {
+            assertThat(sketch.quantile(q)).as("q=%s", q).isEqualTo(expected.quantile(q));
+        }
+    }
+
+    @Test
+    void removingAValueNeverAddedChangesNothing() {
+        SalarySketch sketch = sketchOf(new double[] { 50_000 });
+
+        assertThat(sketch.remove(90_000)).isFalse();
+        assertThat(sketch.count()).isEqualTo(1);
+        assertThat(sketch.remove(50_000)).isTrue();
+        assertThat(sketch.isEmpty()).isTrue();
+        assertThat(sketch.quantile(0.5)).isNull();
+    }
+
+    @Test
+    void mergedSketchesMatchOneBuiltFromEveryValue() {
+        double[] salaries = salaries(4_000, 13);
+        SalarySketch merged = sketchOf(Arrays.copyOfRange(salaries, 0, 1_000))
+                .merge(sketchOf(Arrays.copyOfRange(salaries, 1_000, salaries.length)));
+
+        SalarySketch expected = sketchOf(salaries);
+        assertThat(merged.count()).isEqualTo(expected.count());
+        for (double q : QUANTILES) {
+            assertThat(merged.quantile(q)).as("q=%s", q).isEqualTo(expected.quantile(q));
+        }
+    }
+
+    // log-normal around 60k, the long upper tail a salary distribution has
+    private static double[] salaries(int n, long seed) {
+        Random random = new Random(seed);
+        double[] salaries = new double[n];
+        for (int i = 0; i < n; i++) {
+            salaries[i] = Math.max(10_000, Math.round(60_000 * Math.exp(0.5 * random.nextGaussian()) * 100) / 100.0);
+        }
+        return salaries;
+    }
+
+    private static SalarySketch sketchOf(double[] salaries) {
+        SalarySketch sketch = new SalarySketch();
+        for (double salary : salaries) {
+            sketch.add(salary);
+        }
+        return sketch;
+    }
+}
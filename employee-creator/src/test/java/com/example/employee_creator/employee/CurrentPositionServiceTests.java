@@ -0,0 +1,81 @@
+package com.example.employee_creator.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.employee_creator.contract.ContractRepository;
+import com.example.employee_creator.contract.entities.Contract;
+import com.example.employee_creator.department.DepartmentRepository;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.entities.CurrentPosition;
+import com.example.employee_creator.employee.entities.Employee;
+
+/**
+ * The startup backfill, run against legacy data inside a transaction that is
+ * rolled back, so the positions other tests rely on are left as they were.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CurrentPositionServiceTests {
+    private static final LocalDate START = LocalDate.of(2015, 6, 1);
+
+    @Autowired
+    private CurrentPositionService positionService;
+    @Autowired
+    private CurrentPositionRepository positionRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private ContractRepository contractRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Test
+    void backfillPicksOneContractWhenTwoActiveOnesStartTheSameDay() {
+        this.tx.executeWithoutResult(status -> {
+            Department department = new Department();
+            department.setName("Legacy " + System.nanoTime());
+            this.departmentRepository.save(department);
+            Employee employee = new Employee();
+            employee.setFirstName("Legacy");
+            employee.setLastName("Data");
+            employee.setEmail("legacy.data." + System.nanoTime() + "@example.com");
+            employee.setDateOfBirth(LocalDate.of(1980, 1, 1));
+            this.employeeRepository.save(employee);
+
+            Contract older = activeContract(employee, department, START.minusYears(2), "Analyst");
+            Contract first = activeContract(employee, department, START, "Engineer");
+            Contract second = activeContract(employee, department, START, "Senior Engineer");
+            this.contractRepository.saveAllAndFlush(List.of(older, first, second));
+            this.positionRepository.deleteAllInBatch();
+
+            this.positionService.rebuildIfEmpty();
+
+            CurrentPosition position = this.positionRepository.findById(employee.getId()).orElseThrow();
+            assertThat(position.getContractId()).isEqualTo(Math.max(first.getId(), second.getId()));
+            status.setRollbackOnly();
+        });
+    }
+
+    private static Contract activeContract(Employee employee, Department department, LocalDate start,
+            String jobTitle) {
+        Contract contract = new Contract();
+        contract.setEmployee(employee);
+        contract.setDepartment(department);
+        contract.setStartDate(start);
+        contract.setJobTitle(jobTitle);
+        contract.setSalary(70000f);
+        contract.setActive(true);
+        return contract;
+    }
+}
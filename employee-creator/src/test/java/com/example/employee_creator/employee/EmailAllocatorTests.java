@@ -0,0 +1,130 @@
+package com.example.employee_creator.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Against the real repository, so the LIKE and REGEXP the counters are seeded
+ * from run as they do in production. Each test allocates from a fresh
+ * {@link EmailAllocator} unless it needs the application's.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailAllocatorTests {
+    private static final LocalDate BORN = LocalDate.of(1987, 11, 5);
+    private static final AtomicLong IDS = new AtomicLong(700_000);
+
+    @Autowired
+    private EmployeeRepository repo;
+    @Autowired
+    private EmailAllocator emailAllocator;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void namesakesAreNumberedFromTwo() {
+        String last = unique("Namesake");
+        EmailAllocator allocator = new EmailAllocator(this.repo);
+
+        assertThat(allocator.allocate("Ann", last)).isEqualTo("ann." + last.toLowerCase() + "@example.com");
+        assertThat(allocator.allocate("ANN", last)).isEqualTo("ann." + last.toLowerCase() + "2@example.com");
+        assertThat(allocator.allocate("Ann", last)).isEqualTo("ann." + last.toLowerCase() + "3@example.com");
+    }
+
+    @Test
+    void counterContinuesAfterTheHighestSuffixDespiteGaps() {
+        String last = unique("Gappy");
+        String base = EmailAllocator.baseOf("Bo", last);
+        insert(EmailAllocator.emailOf(base, 1));
+        insert(EmailAllocator.emailOf(base, 9));
+        // lexically "10" sorts before "9", the longer address still wins
+        insert(EmailAllocator.emailOf(base, 10));
+
+        assertThat(new EmailAllocator(this.repo).allocate("Bo", last)).isEqualTo(EmailAllocator.emailOf(base, 11));
+    }
+
+    @Test
+    void longerNamesSharingThePrefixDontCount() {
+        String last = unique("Lee");
+        insert(EmailAllocator.baseOf("Cy", last + "ds") + "5@example.com");
+        insert(EmailAllocator.baseOf("Cy", last) + "x7@example.com");
+
+        assertThat(new EmailAllocator(this.repo).allocate("Cy", last))
+                .isEqualTo(EmailAllocator.baseOf("Cy", last) + "@example.com");
+    }
+
+    @Test
+    void regexAndLikeSpecialCharactersAreMatchedLiterally() {
+        String suffix = unique("");
+        String first = "Jo+n";
+        String last = "O_Br%en(" + suffix + ")";
+        String base = EmailAllocator.baseOf(first, last);
+        // each would match the base if it were used as a pattern unescaped
+        insert("jooon.oxbr%en(" + suffix + ")9@example.com");
+        insert("jo+n.o_brxxen(" + suffix + ")8@example.com");
+        insert("jo+nxo_br%en(" + suffix + ")7@example.com");
+        insert(EmailAllocator.emailOf(base, 3));
+
+        assertThat(new EmailAllocator(this.repo).allocate(first, last)).isEqualTo(EmailAllocator.emailOf(base, 4));
+    }
+
+    @Test
+    void createRetriesWithTheNextAddressWhenItWasTaken() {
+        String last = unique("Taken");
+        String base = EmailAllocator.baseOf("Di", last);
+        this.emailAllocator.allocate("Di", last);
+        // taken behind the cached counter's back
+        insert(EmailAllocator.emailOf(base, 2));
+
+        Employee created = this.employeeService.create(new CreateEmployeeDto("Di", last, BORN));
+
+        assertThat(created.getEmail()).isEqualTo(EmailAllocator.emailOf(base, 3));
+    }
+
+    @Test
+    void createDoesNotRetryOtherViolations() {
+        String last = unique("Checked");
+        Statistics statistics = this.emf.unwrap(SessionFactory.class).getStatistics();
+        this.jdbc.execute("alter table employees add constraint ck_email_forbidden check (first_name <> 'Forbidden')");
+        try {
+            statistics.clear();
+            assertThatThrownBy(() -> this.employeeService.create(new CreateEmployeeDto("Forbidden", last, BORN)))
+                    .isInstanceOf(DataIntegrityViolationException.class)
+                    .satisfies(e -> assertThat(EmailAllocator.isEmailTaken((DataIntegrityViolationException) e)).isFalse());
+        } finally {
+            this.jdbc.execute("alter table employees drop constraint ck_email_forbidden");
+        }
+        // the counter was seeded once; a retry would have reseeded it from the database
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+    }
+
+    private void insert(String email) {
+        this.jdbc.update("insert into employees (id, first_name, last_name, email, date_of_birth, version) "
+                + "values (?, 'Seeded', 'Row', ?, ?, 0)", IDS.incrementAndGet(), email, BORN);
+    }
+
+    private static String unique(String prefix) {
+        return prefix + Long.toString(System.nanoTime(), 36);
+    }
+}
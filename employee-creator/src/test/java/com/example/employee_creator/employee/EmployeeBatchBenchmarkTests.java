@@ -0,0 +1,63 @@
+package com.example.employee_creator.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.employee_creator.employee.dtos.BatchCreateResultDto;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+
+/**
+ * Throughput of one-by-one creates against {@link EmployeeService#createBatch}.
+ * Run with {@code mvn test -Pbenchmark}; point it at MySQL with
+ * {@code -Dspring.datasource.url=...} to include real network round trips.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class EmployeeBatchBenchmarkTests {
+    private static final int EMPLOYEES = Integer.getInteger("benchmark.employees", 5_000);
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    void batchCreateOutperformsOneByOne() {
+        // warm up both paths before timing
+        fixtures("Warm", 200).forEach(this.employeeService::create);
+        this.employeeService.createBatch(fixtures("Warmbatch", 200));
+
+        List<CreateEmployeeDto> single = fixtures("Single", EMPLOYEES);
+        long started = System.nanoTime();
+        single.forEach(this.employeeService::create);
+        double singleRate = rate(EMPLOYEES, System.nanoTime() - started);
+
+        List<CreateEmployeeDto> batch = fixtures("Batch", EMPLOYEES);
+        started = System.nanoTime();
+        List<BatchCreateResultDto> results = this.employeeService.createBatch(batch);
+        double batchRate = rate(EMPLOYEES, System.nanoTime() - started);
+
+        System.out.printf("employee create: one-by-one %.0f rows/s, batch %.0f rows/s (%.1fx)%n",
+                singleRate, batchRate, batchRate / singleRate);
+        assertThat(results).allMatch(r -> r.status() == BatchCreateResultDto.Status.CREATED);
+    }
+
+    private static List<CreateEmployeeDto> fixtures(String lastName, int count) {
+        // a handful of repeated names exercises the email suffix path as well
+        return IntStream.range(0, count)
+                .mapToObj(i -> new CreateEmployeeDto("Employee" + (i % 50), lastName, LocalDate.of(1990, 1, 1)))
+                .toList();
+    }
+
+    private static double rate(int rows, long nanos) {
+        return rows / (nanos / 1_000_000_000.0);
+    }
+}
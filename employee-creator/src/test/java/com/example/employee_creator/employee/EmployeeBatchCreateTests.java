@@ -0,0 +1,90 @@
+package com.example.employee_creator.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.employee_creator.employee.dtos.BatchCreateResultDto;
+import com.example.employee_creator.employee.dtos.BatchCreateResultDto.Status;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EmployeeBatchCreateTests {
+    private static final LocalDate BORN = LocalDate.of(1992, 8, 30);
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmailAllocator emailAllocator;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void namesTooLongForTheEmailColumnAreRejectedUpFront() {
+        String tooLong = "L".repeat(101);
+        List<BatchCreateResultDto> results = this.employeeService.createBatch(List.of(
+                new CreateEmployeeDto("Fits", "Fine" + System.nanoTime(), BORN),
+                new CreateEmployeeDto("Long", tooLong, BORN)));
+
+        assertThat(results).extracting(BatchCreateResultDto::status).containsExactly(Status.CREATED, Status.INVALID);
+        assertThat(results.get(1).errors()).singleElement().asString().startsWith("lastName size must be");
+    }
+
+    @Test
+    void chunkIsRetriedWithFreshEmailsWhenAnAddressWasTaken() {
+        String lastName = "Clash" + System.nanoTime();
+        String base = EmailAllocator.baseOf("Batch", lastName);
+        // seeds the counter, then someone else takes the address it hands out next
+        this.emailAllocator.allocate("Batch", lastName);
+        this.jdbc.update("insert into employees (id, first_name, last_name, email, date_of_birth, version) "
+                + "values (?, 'Other', 'Writer', ?, ?, 0)", 800_000 + System.nanoTime() % 100_000,
+                EmailAllocator.emailOf(base, 2), BORN);
+
+        List<BatchCreateResultDto> results = this.employeeService.createBatch(List.of(
+                new CreateEmployeeDto("Batch", lastName, BORN),
+                new CreateEmployeeDto("Batch", lastName, BORN)));
+
+        assertThat(results).extracting(BatchCreateResultDto::status).containsOnly(Status.CREATED);
+        assertThat(results).extracting(r -> r.employee().email())
+                .containsExactly(EmailAllocator.emailOf(base, 3), EmailAllocator.emailOf(base, 4));
+    }
+
+    @Test
+    void otherFailuresOnlyFailTheirOwnRow() {
+        String lastName = "Row" + System.nanoTime();
+        this.jdbc.execute("alter table employees add constraint ck_batch_forbidden check (first_name <> 'Forbidden')");
+        try {
+            List<BatchCreateResultDto> results = this.employeeService.createBatch(List.of(
+                    new CreateEmployeeDto("Before", lastName, BORN),
+                    new CreateEmployeeDto("Forbidden", lastName, BORN),
+                    new CreateEmployeeDto("After", lastName, BORN)));
+
+            assertThat(results).extracting(BatchCreateResultDto::status)
+                    .containsExactly(Status.CREATED, Status.FAILED, Status.CREATED);
+            // the constraint it broke stays in the server log
+            assertThat(results.get(1).errors()).containsExactly(EmployeeService.NOT_SAVED);
+            assertThat(this.jdbc.queryForObject("select count(*) from employees where last_name = ?", Long.class,
+                    lastName)).isEqualTo(2);
+        } finally {
+            this.jdbc.execute("alter table employees drop constraint ck_batch_forbidden");
+        }
+    }
+
+    @Test
+    void anEmailLostToOtherWritersIsReportedAsTaken() {
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement",
+                new IllegalStateException("Unique index or primary key violation: \"PUBLIC.UK_EMPLOYEES_EMAIL_INDEX_1 "
+                        + "ON PUBLIC.EMPLOYEES(EMAIL) VALUES ( /* 7 */ 'ada.lovelace@example.com' )\""));
+
+        assertThat(EmployeeService.failureOf(0, e)).isEqualTo(EmployeeService.EMAIL_TAKEN);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.employee_creator.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.coyote.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.employee_creator.common.Cursor;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeCursorPaginationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private EmployeeService employeeService;
+
+    // every row shares the sort key, so only the id tie break moves the cursor forward
+    @Test
+    void pagesContinueAcrossEqualSortKeys() throws Exception {
+        String lastName = "Keyset" + System.nanoTime();
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(this.employeeService.create(new CreateEmployeeDto("Same" + i, lastName, LocalDate.of(1990, 1, 1)))
+                    .getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = search(lastName).param("size", "2");
+            if (after != null) {
+                request.param("after", after);
+            }
+            JsonNode page = this.mapper.readTree(this.mockMvc.perform(request).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("data").forEach(row -> seen.add(row.get("id").asLong()));
+            after = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+            pages++;
+        } while (after != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(created.stream().sorted().toList());
+    }
+
+    @Test
+    void cursorPagesLeaveOutWhatTheyDontHave() throws Exception {
+        String lastName = "Sparse" + System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            this.employeeService.create(new CreateEmployeeDto("Only" + i, lastName, LocalDate.of(1990, 1, 1)));
+        }
+
+        this.mockMvc.perform(search(lastName).param("size", "2"))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andExpect(jsonPath("$.resultsPerPage").value(2))
+                .andExpect(jsonPath("$.currentPage").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist())
+                .andExpect(jsonPath("$.totalResults").doesNotExist())
+                .andExpect(jsonPath("$.nextPage").doesNotExist())
+                .andExpect(jsonPath("$.previousPage").doesNotExist());
+        this.mockMvc.perform(search(lastName).param("size", "2").param("includeTotal", "true"))
+                .andExpect(jsonPath("$.totalResults").value(3))
+                .andExpect(jsonPath("$.totalPages").value(2));
+        // the last page has no cursor to follow, and says nothing rather than null
+        this.mockMvc.perform(search(lastName).param("size", "5"))
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    // existing clients read the neighbours of the first and last page as explicit nulls
+    @Test
+    void offsetPagesKeepTheirShape() throws Exception {
+        String lastName = "Offset" + System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            this.employeeService.create(new CreateEmployeeDto("Only" + i, lastName, LocalDate.of(1990, 1, 1)));
+        }
+
+        this.mockMvc.perform(get("/employees").param("searchBy", "name").param("searchTerm", lastName)
+                .param("size", "5"))
+                .andExpect(jsonPath("$.currentPage").value(1))
+                .andExpect(jsonPath("$.totalPages").value(1))
+                .andExpect(jsonPath("$.totalResults").value(3))
+                .andExpect(jsonPath("$.nextPage").value(nullValue()))
+                .andExpect(jsonPath("$.previousPage").value(nullValue()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void tamperedCursorsAreBadRequests() {
+        String valid = new Cursor("Smith", 42).encode();
+        for (String after : new String[] { "%%%", valid.substring(1), "QUJD" }) {
+            assertThatThrownBy(() -> this.mockMvc.perform(get("/employees").param("after", after)))
+                    .as(after)
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageStartingWith("Invalid cursor");
+        }
+    }
+
+    private static MockHttpServletRequestBuilder search(String lastName) {
+        return get("/employees")
+                .param("pagination", "cursor")
+                .param("searchBy", "name")
+                .param("searchTerm", lastName);
+    }
+}
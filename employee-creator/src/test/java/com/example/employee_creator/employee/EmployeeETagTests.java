@@ -0,0 +1,209 @@
+package com.example.employee_creator.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.employee_creator.config.ProtobufDtoHttpMessageConverter;
+import com.example.employee_creator.contract.ContractService;
+import com.example.employee_creator.contract.dtos.CreateContractDto;
+import com.example.employee_creator.department.DepartmentService;
+import com.example.employee_creator.department.dtos.CreateDepartmentDto;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.dtos.UpdateEmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeETagTests {
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType PROTOBUF = ProtobufDtoHttpMessageConverter.PROTOBUF;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private ContractService contractService;
+    @Autowired
+    private DepartmentService departmentService;
+
+    private Employee employee;
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        this.department = this.departmentService
+                .createDepartment(new CreateDepartmentDto("ETag " + System.nanoTime(), "ETag"));
+        this.employee = this.employeeService.create(new CreateEmployeeDto("E", "Tag", LocalDate.of(1990, 1, 1)));
+        addContract(LocalDate.of(2020, 1, 1));
+    }
+
+    @Test
+    void contractChangeInvalidatesETag() throws Exception {
+        String etag = etag();
+        this.mockMvc.perform(get("/employees/{id}", this.employee.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        addContract(LocalDate.of(2022, 1, 1));
+
+        this.mockMvc.perform(get("/employees/{id}/contracts", this.employee.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void eachRepresentationHasItsOwnETag() throws Exception {
+        String json = etag();
+        String protobuf = etag(PROTOBUF);
+        assertThat(protobuf).isNotEqualTo(json);
+
+        this.mockMvc.perform(get("/employees/{id}", this.employee.getId())
+                .accept(PROTOBUF).header("If-None-Match", protobuf))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", protobuf))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        // a tag issued for JSON doesn't validate what a CBOR cache entry holds
+        this.mockMvc.perform(get("/employees/{id}/contracts", this.employee.getId())
+                .accept(CBOR).header("If-None-Match", json))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andExpect(header().string("ETag", etag(CBOR)))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void ifMatchTakesTheTagOfAnyRepresentation() throws Exception {
+        this.mockMvc.perform(patch("/employees/{id}", this.employee.getId())
+                .header("If-Match", etag(PROTOBUF))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag()));
+    }
+
+    @Test
+    void patchRequiresCurrentETagWhenIfMatchIsSent() throws Exception {
+        String etag = etag();
+        String renamed = this.mockMvc.perform(patch("/employees/{id}", this.employee.getId())
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Renamed"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        this.mockMvc.perform(patch("/employees/{id}", this.employee.getId())
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Stale\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", renamed));
+    }
+
+    @Test
+    void ifMatchIgnoresWeakTags() throws Exception {
+        String etag = etag();
+        this.mockMvc.perform(patch("/employees/{id}", this.employee.getId())
+                .header("If-Match", "W/" + etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Renamed\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", etag));
+    }
+
+    @Test
+    void contractWriteFailsAnIfMatchTakenBeforeIt() throws Exception {
+        String etag = etag();
+        addContract(LocalDate.of(2023, 1, 1));
+
+        this.mockMvc.perform(patch("/employees/{id}", this.employee.getId())
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Stale\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", etag()));
+        this.mockMvc.perform(patch("/employees/{id}", this.employee.getId())
+                .header("If-Match", "\"other\", " + etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Fresh\"}"))
+                .andExpect(status().isOk());
+    }
+
+    // every writer read the same version, so exactly one of them may apply its patch
+    @Test
+    void concurrentPatchesWithTheSameIfMatchLetOneThrough() throws Exception {
+        Long version = this.employeeService.findVersion(this.employee.getId()).orElseThrow().version();
+        int writers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+        try {
+            for (int i = 0; i < writers; i++) {
+                String name = "Writer" + i;
+                outcomes.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        this.employeeService.updateById(this.employee.getId(),
+                                new UpdateEmployeeDto(name, null, null), Set.of(version));
+                        return true;
+                    } catch (OptimisticLockingFailureException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int applied = 0;
+            for (Future<Boolean> outcome : outcomes) {
+                applied += outcome.get(30, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertThat(applied).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(this.employeeService.findVersion(this.employee.getId()).orElseThrow().version())
+                .isEqualTo(version + 1);
+    }
+
+    private String etag() throws Exception {
+        return etag(MediaType.APPLICATION_JSON);
+    }
+
+    private String etag(MediaType accept) throws Exception {
+        return this.mockMvc.perform(get("/employees/{id}", this.employee.getId()).accept(accept))
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    private void addContract(LocalDate start) {
+        this.contractService.createContract(new CreateContractDto("Role", 60000f, start, null,
+                this.employee.getId(), this.department.getId()));
+    }
+}
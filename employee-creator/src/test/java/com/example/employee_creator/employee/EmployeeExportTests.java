@@ -0,0 +1,112 @@
+package com.example.employee_creator.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.employee_creator.contract.ContractService;
+import com.example.employee_creator.contract.dtos.ContractDto;
+import com.example.employee_creator.contract.dtos.CreateContractDto;
+import com.example.employee_creator.department.DepartmentService;
+import com.example.employee_creator.department.dtos.CreateDepartmentDto;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.dtos.EmployeeExportDto;
+import com.example.employee_creator.employee.entities.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A database of its own, so an export can be empty, and a fetch size of two
+ * rows so every export spans several fetches. Each test removes what it adds.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:employee_export;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.export.fetch-size=2" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeExportTests {
+    private static final LocalDate START = LocalDate.of(2015, 1, 1);
+    private static final String CSV_HEADER = "employeeId,firstName,lastName,email,dateOfBirth,"
+            + "contractId,departmentName,jobTitle,salary,startDate,endDate,isActive";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private ContractService contractService;
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Test
+    void emptyExportsHaveNoRows() throws Exception {
+        assertThat(export("ndjson")).isEmpty();
+        assertThat(export("csv")).isEqualTo(CSV_HEADER + "\n");
+    }
+
+    @Test
+    void exportsSpanManyFetches() throws Exception {
+        Department department = this.departmentService
+                .createDepartment(new CreateDepartmentDto("Exports", "Exports"));
+        List<Employee> employees = new ArrayList<>();
+        try {
+            for (int i = 0; i < 5; i++) {
+                Employee employee = this.employeeService
+                        .create(new CreateEmployeeDto("Export", "Person" + i, LocalDate.of(1990, 1, 1)));
+                employees.add(employee);
+                // the last one has no contracts at all
+                for (int c = 0; i < 4 && c < 3; c++) {
+                    this.contractService.createContract(new CreateContractDto("Role " + c, 40000f + c * 1000,
+                            START.plusYears(c), null, employee.getId(), department.getId()));
+                }
+            }
+
+            String ndjson = export("ndjson");
+            assertThat(ndjson).endsWith("}\n");
+            List<EmployeeExportDto> lines = new ArrayList<>();
+            for (String line : ndjson.split("\n")) {
+                lines.add(this.mapper.readValue(line, EmployeeExportDto.class));
+            }
+            assertThat(lines).extracting(EmployeeExportDto::id)
+                    .containsExactlyElementsOf(employees.stream().map(Employee::getId).toList());
+            for (int i = 0; i < 4; i++) {
+                assertThat(lines.get(i).contracts()).extracting(ContractDto::startDate)
+                        .containsExactly(START, START.plusYears(1), START.plusYears(2));
+            }
+            assertThat(lines.get(4).contracts()).isEmpty();
+
+            String[] csv = export("csv").split("\n");
+            assertThat(csv[0]).isEqualTo(CSV_HEADER);
+            // a row per contract, and one with empty contract columns for the employee without any
+            assertThat(csv).hasSize(1 + 4 * 3 + 1);
+            assertThat(csv[csv.length - 1]).startsWith(employees.get(4).getId() + ",").endsWith(",,,,,,,");
+        } finally {
+            employees.forEach(e -> this.employeeService.deleteById(e.getId()));
+        }
+    }
+
+    private String export(String format) throws Exception {
+        MvcResult started = this.mockMvc.perform(get("/employees/export").param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return this.mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.employee_creator.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.dtos.UpdateEmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeNameIndexTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeNameIndex nameIndex;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void awaitIndex() {
+        await().atMost(Duration.ofSeconds(10)).until(this.nameIndex::isReady);
+    }
+
+    @Test
+    void trigramsMatchAnywhereInTheFullName() {
+        String lastName = "Quartermaine" + System.nanoTime();
+        Employee employee = this.employeeService.create(new CreateEmployeeDto("Zebulon", lastName, LocalDate.of(1985, 2, 3)));
+
+        assertThat(this.nameIndex.search("ulon QUART")).hasValueSatisfying(ids -> assertThat(ids).contains(employee.getId()));
+        assertThat(this.nameIndex.search(lastName.toLowerCase())).contains(List.of(employee.getId()));
+        // every trigram is indexed, but not in this order
+        assertThat(this.nameIndex.search("termaine zeb")).hasValueSatisfying(ids -> assertThat(ids).doesNotContain(employee.getId()));
+
+        this.employeeService.updateById(employee.getId(), new UpdateEmployeeDto("Ezekiel", null, null));
+        assertThat(this.nameIndex.search("zebulon")).hasValueSatisfying(ids -> assertThat(ids).doesNotContain(employee.getId()));
+        assertThat(this.nameIndex.search("ezekiel " + lastName)).contains(List.of(employee.getId()));
+
+        this.employeeService.deleteById(employee.getId());
+        assertThat(this.nameIndex.search(lastName)).contains(List.of());
+    }
+
+    @Test
+    void shortAndBlankTermsFallBackToSql() throws Exception {
+        assertThat(this.nameIndex.search("ab")).isEmpty();
+        assertThat(this.nameIndex.search("   ")).isEmpty();
+        assertThat(this.nameIndex.search(null)).isEmpty();
+
+        Employee employee = this.employeeService.create(new CreateEmployeeDto("Jo", "Xu", LocalDate.of(1990, 1, 1)));
+        this.mockMvc.perform(get("/employees").param("searchBy", "name").param("searchTerm", "o X")
+                .param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[?(@.id == " + employee.getId() + ")]").exists());
+
+        // a blank term filters nothing, the same as leaving it out
+        String everyone = this.mockMvc.perform(get("/employees").param("size", "5"))
+                .andReturn().getResponse().getContentAsString();
+        this.mockMvc.perform(get("/employees").param("searchBy", "name").param("searchTerm", "   ")
+                .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertThat(result.getResponse().getContentAsString()).isEqualTo(everyone));
+    }
+
+    @Test
+    void rolledBackWritesLeaveTheIndexAlone() {
+        String kept = "Kept" + System.nanoTime();
+        Employee employee = this.employeeService.create(new CreateEmployeeDto("Rolled", kept, LocalDate.of(1979, 7, 7)));
+        String discarded = "Discarded" + System.nanoTime();
+
+        this.tx.executeWithoutResult(status -> {
+            this.employeeService.create(new CreateEmployeeDto("Rolled", discarded, LocalDate.of(1979, 7, 7)));
+            this.employeeService.deleteById(employee.getId());
+            status.setRollbackOnly();
+        });
+
+        assertThat(this.nameIndex.search(discarded)).contains(List.of());
+        assertThat(this.nameIndex.search(kept)).contains(List.of(employee.getId()));
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.employee_creator.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.example.employee_creator.contract.ContractService;
+import com.example.employee_creator.contract.dtos.CreateContractDto;
+import com.example.employee_creator.department.DepartmentService;
+import com.example.employee_creator.department.dtos.CreateDepartmentDto;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+import com.jayway.jsonpath.JsonPath;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "app.sql-stats.headers=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private ContractService contractService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+    private Department engineering;
+    private Department sales;
+
+    @BeforeEach
+    void setUp() {
+        this.statistics = this.emf.unwrap(SessionFactory.class).getStatistics();
+        this.engineering = this.departmentService
+                .createDepartment(new CreateDepartmentDto("Engineering " + System.nanoTime(), "Engineering"));
+        this.sales = this.departmentService
+                .createDepartment(new CreateDepartmentDto("Sales " + System.nanoTime(), "Sales"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 5, 20 })
+    void employeeDetailRunsFixedStatementCount(int careerLength) throws Exception {
+        Employee employee = seedEmployee(careerLength);
+
+        this.statistics.clear();
+        this.mockMvc.perform(get("/employees/{id}", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobTitle").value("Role " + (careerLength - 1)))
+                .andExpect(header().string("X-Sql-Statements", "2"));
+
+        // one for the ETag, one for the body
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 5, 20 })
+    void contractHistoryRunsFixedStatementCount(int careerLength) throws Exception {
+        Employee employee = seedEmployee(careerLength);
+
+        this.statistics.clear();
+        this.mockMvc.perform(get("/employees/{id}/contracts", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(careerLength))
+                .andExpect(header().string("X-Sql-Statements", "2"))
+                .andExpect(header().string("X-Entity-Loads", "0"));
+
+        // the history is projected straight into DTOs
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(this.statistics.getEntityLoadCount()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 20 })
+    void revalidationRunsOneStatementAndLoadsNothing(int careerLength) throws Exception {
+        Employee employee = seedEmployee(careerLength);
+        String etag = this.mockMvc.perform(get("/employees/{id}", employee.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        this.statistics.clear();
+        this.mockMvc.perform(get("/employees/{id}/contracts", employee.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(this.statistics.getEntityLoadCount()).isZero();
+    }
+
+    // listings are filtered to this test's own rows, which also keeps them out of the search cache
+    @Test
+    void employeeListLoadsNoEntities() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            seedEmployee(2);
+        }
+
+        this.statistics.clear();
+        expectNoEntityLoads(this.mockMvc.perform(get("/employees")
+                .param("department", this.sales.getName())
+                .param("size", "2")
+                .param("page", "2")))
+                .andExpect(jsonPath("$.data.length()").value(1));
+    }
+
+    @Test
+    void cursorPagesLoadNoEntities() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            seedEmployee(2);
+        }
+
+        this.statistics.clear();
+        String first = expectNoEntityLoads(this.mockMvc.perform(get("/employees")
+                .param("department", this.sales.getName())
+                .param("pagination", "cursor")
+                .param("size", "2")
+                .param("includeTotal", "true")))
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.totalResults").value(3))
+                .andReturn().getResponse().getContentAsString();
+
+        this.statistics.clear();
+        expectNoEntityLoads(this.mockMvc.perform(get("/employees")
+                .param("department", this.sales.getName())
+                .param("after", JsonPath.<String>read(first, "$.nextCursor"))
+                .param("size", "2")))
+                .andExpect(jsonPath("$.data.length()").value(1));
+    }
+
+    @Test
+    void nameSearchLoadsNoEntities() throws Exception {
+        String lastName = uniqueName();
+        for (int i = 0; i < 3; i++) {
+            seedEmployee(2, lastName);
+        }
+
+        // served from the name index, and through SQL once a department narrows it
+        this.statistics.clear();
+        expectNoEntityLoads(this.mockMvc.perform(get("/employees")
+                .param("searchBy", "name")
+                .param("searchTerm", lastName)))
+                .andExpect(jsonPath("$.data.length()").value(3));
+
+        this.statistics.clear();
+        expectNoEntityLoads(this.mockMvc.perform(get("/employees")
+                .param("searchBy", "name")
+                .param("searchTerm", lastName)
+                .param("department", this.sales.getName())))
+                .andExpect(jsonPath("$.data.length()").value(3));
+    }
+
+    private ResultActions expectNoEntityLoads(ResultActions result) throws Exception {
+        result.andExpect(status().isOk()).andExpect(header().string("X-Entity-Loads", "0"));
+        assertThat(this.statistics.getEntityLoadCount()).isZero();
+        return result;
+    }
+
+    // letters only, so the email allocator sees nothing that looks like a suffix
+    private static String uniqueName() {
+        StringBuilder name = new StringBuilder("Q");
+        for (char c : Long.toString(System.nanoTime(), 26).toCharArray()) {
+            name.append((char) ('a' + Character.digit(c, 26)));
+        }
+        return name.toString();
+    }
+
+    private Employee seedEmployee(int careerLength) {
+        return seedEmployee(careerLength, "Count");
+    }
+
+    private Employee seedEmployee(int careerLength, String lastName) {
+        Employee employee = this.employeeService
+                .create(new CreateEmployeeDto("Query", lastName, LocalDate.of(1990, 1, 1)));
+        LocalDate start = LocalDate.of(2010, 1, 1);
+        for (int i = 0; i < careerLength; i++) {
+            // alternate departments so each contract needs its own department row
+            Department dept = i % 2 == 0 ? this.engineering : this.sales;
+            this.contractService.createContract(new CreateContractDto("Role " + i, 50000f + i * 1000,
+                    start.plusYears(i), null, employee.getId(), dept.getId()));
+        }
+        return employee;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.employee_creator.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.employee_creator.contract.ContractService;
+import com.example.employee_creator.contract.dtos.CreateContractDto;
+import com.example.employee_creator.department.DepartmentService;
+import com.example.employee_creator.department.dtos.CreateDepartmentDto;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.dtos.UpdateEmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeSearchCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private ContractService contractService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        this.statistics = this.emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedSearchIsServedFromCacheUntilAnEmployeeChanges() throws Exception {
+        String lastName = "Cached" + System.nanoTime();
+        Employee employee = this.employeeService
+                .create(new CreateEmployeeDto("Before", lastName, LocalDate.of(1990, 1, 1)));
+        String url = "/employees?searchBy=name&searchTerm=" + lastName;
+
+        this.mockMvc.perform(get(url)).andExpect(jsonPath("$.data[0].firstName").value("Before"));
+        this.statistics.clear();
+        this.mockMvc.perform(get(url)).andExpect(jsonPath("$.data[0].firstName").value("Before"));
+        assertThat(this.statistics.getPrepareStatementCount()).isZero();
+
+        this.employeeService.updateById(employee.getId(), new UpdateEmployeeDto("After", null, null));
+        this.mockMvc.perform(get(url)).andExpect(jsonPath("$.data[0].firstName").value("After"));
+    }
+
+    @Test
+    void jobTitleSearchSeesNewContracts() throws Exception {
+        String jobTitle = "Cartographer " + System.nanoTime();
+        String url = "/employees?searchBy=jobTitle&searchTerm=" + jobTitle;
+        this.mockMvc.perform(get(url)).andExpect(jsonPath("$.totalResults").value(0));
+
+        Employee employee = this.employeeService
+                .create(new CreateEmployeeDto("Map", "Maker", LocalDate.of(1990, 1, 1)));
+        Long departmentId = this.departmentService
+                .createDepartment(new CreateDepartmentDto("Maps " + System.nanoTime(), "Maps")).getId();
+        this.contractService.createContract(new CreateContractDto(jobTitle, 60000f, LocalDate.of(2020, 1, 1), null,
+                employee.getId(), departmentId));
+
+        this.mockMvc.perform(get(url)).andExpect(jsonPath("$.totalResults").value(1));
+    }
+}
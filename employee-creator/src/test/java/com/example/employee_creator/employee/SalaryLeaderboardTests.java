@@ -0,0 +1,133 @@
+package com.example.employee_creator.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.employee_creator.contract.ContractService;
+import com.example.employee_creator.contract.dtos.CreateContractDto;
+import com.example.employee_creator.department.DepartmentService;
+import com.example.employee_creator.department.dtos.CreateDepartmentDto;
+import com.example.employee_creator.department.entities.Department;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.dtos.SalaryRankDto;
+import com.example.employee_creator.employee.entities.Employee;
+
+/**
+ * Rankings within a department of their own, so employees other tests hire
+ * never show up in them.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SalaryLeaderboardTests {
+    private static final LocalDate START = LocalDate.of(2019, 9, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SalaryLeaderboard leaderboard;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private ContractService contractService;
+    @Autowired
+    private DepartmentService departmentService;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        this.department = this.departmentService
+                .createDepartment(new CreateDepartmentDto("Leaderboard " + System.nanoTime(), "Leaderboard"));
+    }
+
+    @Test
+    void topFollowsHiresRaisesAndDeletes() throws Exception {
+        Employee a = hire(90_000f);
+        Employee b = hire(90_000f);
+        Employee c = hire(70_000f);
+        Employee d = hire(110_000f);
+
+        // equal salaries and start dates fall back to the employee id
+        assertThat(top(3)).containsExactly(d.getId(), b.getId(), a.getId());
+
+        raise(c, 120_000f, 1);
+        assertThat(top(10)).containsExactly(c.getId(), d.getId(), b.getId(), a.getId());
+
+        // a new contract at the same salary starts later than b's, so a overtakes b
+        raise(a, 90_000f, 1);
+        assertThat(top(10)).containsExactly(c.getId(), d.getId(), a.getId(), b.getId());
+
+        this.employeeService.deleteById(d.getId());
+        assertThat(top(3)).containsExactly(c.getId(), a.getId(), b.getId());
+
+        this.mockMvc.perform(get("/employees/top-paid")
+                .param("department", this.department.getName())
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(c.getId().intValue(), a.getId().intValue())));
+    }
+
+    @Test
+    void rebuildingFromPositionsKeepsTheOrder() {
+        Employee a = hire(80_000f);
+        Employee b = hire(80_000f);
+        Employee c = hire(95_000f);
+        raise(a, 100_000f, 2);
+        List<SalaryRankDto> incremental = this.leaderboard.top(this.department.getId(), 10);
+        assertThat(incremental).extracting(SalaryRankDto::employeeId).containsExactly(a.getId(), c.getId(), b.getId());
+
+        this.leaderboard.rebuild();
+
+        assertThat(this.leaderboard.top(this.department.getId(), 10)).isEqualTo(incremental);
+    }
+
+    // after-commit hooks of two writes to one employee can run in either order
+    @Test
+    void changesAppliedOutOfOrderKeepTheNewest() {
+        long employeeId = -System.nanoTime();
+        Long departmentId = this.department.getId();
+        this.leaderboard.update(employeeId, 7, new SalaryRankDto(employeeId, 2L, departmentId, 90_000f, START));
+        this.leaderboard.update(employeeId, 6, new SalaryRankDto(employeeId, 1L, departmentId, 70_000f, START));
+
+        assertThat(this.leaderboard.top(departmentId, 10)).extracting(SalaryRankDto::salary).containsExactly(90_000f);
+        assertThat(this.leaderboard.top(null, Integer.MAX_VALUE)).filteredOn(r -> r.employeeId() == employeeId)
+                .hasSize(1);
+
+        this.leaderboard.update(employeeId, CurrentPositionService.REMOVED, null);
+        this.leaderboard.update(employeeId, 8, new SalaryRankDto(employeeId, 3L, departmentId, 95_000f, START));
+
+        assertThat(this.leaderboard.top(departmentId, 10)).isEmpty();
+    }
+
+    private Employee hire(float salary) {
+        Employee employee = this.employeeService
+                .create(new CreateEmployeeDto("Ranked", "Person", LocalDate.of(1991, 6, 15)));
+        this.contractService.createContract(new CreateContractDto("Engineer", salary, START, null,
+                employee.getId(), this.department.getId()));
+        return employee;
+    }
+
+    private void raise(Employee employee, float salary, int years) {
+        this.contractService.createContract(new CreateContractDto("Senior Engineer", salary, START.plusYears(years),
+                null, employee.getId(), this.department.getId()));
+    }
+
+    private List<Long> top(int limit) {
+        return this.leaderboard.top(this.department.getId(), limit).stream().map(SalaryRankDto::employeeId).toList();
+    }
+}
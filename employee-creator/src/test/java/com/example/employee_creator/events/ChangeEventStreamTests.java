@@ -0,0 +1,140 @@
+package com.example.employee_creator.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.employee_creator.employee.EmployeeService;
+import com.example.employee_creator.employee.dtos.CreateEmployeeDto;
+import com.example.employee_creator.employee.entities.Employee;
+import com.example.employee_creator.events.ChangeEvent.Action;
+import com.example.employee_creator.events.ChangeEvent.Entity;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A ring of 16 events, so falling behind only takes one larger transaction.
+ */
+@SpringBootTest(properties = "app.events.buffer-size=16")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChangeEventStreamTests {
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ChangeEventBus bus;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void eventsArePublishedOnCommitOnly() {
+        List<ChangeEvent> seen = new ArrayList<>();
+        Consumer<ChangeEvent> listener = seen::add;
+        this.bus.subscribe(listener);
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                this.bus.publish(Entity.DEPARTMENT, Action.UPDATED, 1L, null);
+                status.setRollbackOnly();
+            });
+            assertThat(seen).isEmpty();
+
+            this.transactionTemplate.executeWithoutResult(status -> {
+                this.bus.publish(Entity.DEPARTMENT, Action.UPDATED, 1L, null);
+                this.bus.publish(Entity.DEPARTMENT, Action.UPDATED, 2L, null);
+                assertThat(seen).isEmpty();
+            });
+            assertThat(seen).extracting(ChangeEvent::id).containsExactly(1L, 2L);
+            assertThat(seen.get(1).sequence()).isEqualTo(seen.get(0).sequence() + 1);
+        } finally {
+            this.bus.unsubscribe(listener);
+        }
+    }
+
+    @Test
+    void streamsWritesAndResumesFromLastEventId() throws Exception {
+        MvcResult live = open(null);
+        Employee employee = this.employeeService.create(new CreateEmployeeDto("Event", "Stream", LocalDate.of(1990, 1, 1)));
+
+        String first = awaitContent(live, "\"id\":" + employee.getId() + ",");
+        assertThat(first).contains("\"entity\":\"EMPLOYEE\"", "\"action\":\"CREATED\"");
+        long sequence = lastId(first);
+
+        this.employeeService.deleteById(employee.getId());
+        MvcResult resumed = open(Long.toString(sequence));
+        String replayed = awaitContent(resumed, "\"action\":\"DELETED\"");
+        assertThat(replayed).doesNotContain("\"action\":\"CREATED\"");
+        assertThat(lastId(replayed)).isEqualTo(sequence + 1);
+    }
+
+    @Test
+    void clientsThatFallBehindAreToldToStartOver() throws Exception {
+        double lagging = dropped("lagging");
+        MvcResult live = open(null);
+        this.transactionTemplate.executeWithoutResult(status -> {
+            for (long id = 1; id <= 40; id++) {
+                this.bus.publish(Entity.DEPARTMENT, Action.UPDATED, id, null);
+            }
+        });
+
+        String content = awaitContent(live, "\"id\":40,");
+        assertThat(content).contains("event:reset", "\"reason\":\"lagging\"", "\"missed\":24");
+        assertThat(content).doesNotContain("\"id\":24,").contains("\"id\":25,");
+        // streams other tests left open were caught up too, and missed the same events
+        double streams = this.registry.get("app.events.subscribers").gauge().value();
+        assertThat(dropped("lagging") - lagging).isEqualTo(24 * streams);
+
+        // by now the start of the batch has left the ring as well
+        MvcResult resumed = open(Long.toString(this.bus.lastSequence() - 30));
+        assertThat(awaitContent(resumed, "\"id\":40,")).contains("\"reason\":\"resume\"", "\"missed\":14");
+    }
+
+    private MvcResult open(String lastEventId) throws Exception {
+        var get = get("/events");
+        if (lastEventId != null) {
+            get.header("Last-Event-ID", lastEventId);
+        }
+        return this.mockMvc.perform(get).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static String awaitContent(MvcResult result, String expected) {
+        return await().atMost(Duration.ofSeconds(5))
+                .until(() -> result.getResponse().getContentAsString(), content -> content.contains(expected));
+    }
+
+    private static long lastId(String content) {
+        Matcher m = EVENT_ID.matcher(content);
+        long last = -1;
+        while (m.find()) {
+            last = Long.parseLong(m.group(1));
+        }
+        return last;
+    }
+
+    private double dropped(String reason) {
+        return this.registry.get("app.events.dropped").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.employee_creator.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Drives a weighted mix of API calls at a fixed arrival rate against the app
+ * on an embedded H2 database in MySQL mode. The data is seeded by
+ * {@code DevDataSeeder}, so a given scale is identical across runs. Prints
+ * throughput and p50/p95/p99/max latency per endpoint and writes them to
+ * {@code target/loadtest-report.json} for comparing builds.
+ *
+ * Run with {@code mvn test -Ploadtest}. Knobs are system properties:
+ * {@code loadtest.employees}, {@code loadtest.rps}, {@code loadtest.seconds},
+ * {@code loadtest.warmup-seconds}, {@code loadtest.threads} and
+ * {@code loadtest.mix}, e.g. {@code -Dloadtest.mix=detail=80,patch=20}.
+ *
+ * Requests are scheduled open-loop and latency is measured from each
+ * request's intended start, so a stalled server shows up as queueing time
+ * instead of silently lowering the request rate.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "app.seeder.employees=${loadtest.employees:10000}",
+        "app.seeder.as-of=2025-01-01"
+})
+@ActiveProfiles({ "test", "dev" })
+@Tag("loadtest")
+class ApiLoadTests {
+    private static final int RPS = Integer.getInteger("loadtest.rps", 200);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 64);
+    private static final String MIX = System.getProperty("loadtest.mix",
+            "search-name=25,search-job-title=10,search-department=10,detail=35,create-contract=10,patch=10");
+    private static final long SEED = 42L;
+
+    // Java 17's HttpClient can't be closed, and its pool's threads would keep the forked JVM alive
+    private static final ExecutorService CLIENT_THREADS = Executors.newFixedThreadPool(THREADS);
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .executor(CLIENT_THREADS)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private List<Long> employeeIds;
+    private List<String> lastNames;
+    private List<Long> departmentIds;
+    private List<String> departmentNames;
+    private List<String> jobTitles;
+
+    @AfterAll
+    static void shutDownClient() {
+        CLIENT_THREADS.shutdownNow();
+    }
+
+    @Test
+    void apiMix() throws Exception {
+        loadFixtures();
+        Map<String, Function<Random, HttpRequest>> endpoints = endpoints();
+        List<String> weighted = parseMix(endpoints);
+
+        if (WARMUP_SECONDS > 0) {
+            run(weighted, endpoints, WARMUP_SECONDS, new Random(SEED - 1));
+        }
+        Map<String, Recorder> results = run(weighted, endpoints, SECONDS, new Random(SEED));
+
+        Map<String, Object> report = report(results);
+        File out = new File("target/loadtest-report.json");
+        out.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, report);
+
+        long errors = results.values().stream().mapToLong(r -> r.errors.get()).sum();
+        assertThat(errors).as("non-2xx responses").isZero();
+    }
+
+    private void loadFixtures() {
+        this.employeeIds = this.jdbc.queryForList("select id from employees order by id", Long.class);
+        this.lastNames = this.jdbc.queryForList("select distinct last_name from employees order by last_name",
+                String.class);
+        this.departmentIds = this.jdbc.queryForList("select id from departments order by id", Long.class);
+        this.departmentNames = this.jdbc.queryForList("select name from departments order by id", String.class);
+        this.jobTitles = this.jdbc.queryForList("select distinct job_title from contracts order by job_title",
+                String.class);
+    }
+
+    private Map<String, Function<Random, HttpRequest>> endpoints() {
+        Map<String, Function<Random, HttpRequest>> endpoints = new LinkedHashMap<>();
+        endpoints.put("search-name", rnd -> get("/employees?searchBy=name&searchTerm=" + encode(pick(rnd, this.lastNames))));
+        endpoints.put("search-job-title",
+                rnd -> get("/employees?searchBy=jobTitle&searchTerm=" + encode(pick(rnd, this.jobTitles))));
+        endpoints.put("search-department", rnd -> get("/employees?department=" + encode(pick(rnd, this.departmentNames))));
+        endpoints.put("detail", rnd -> get("/employees/" + pick(rnd, this.employeeIds)));
+        endpoints.put("create-contract", rnd -> send("POST", "/contracts", """
+                {"jobTitle":"%s","salary":%d,"startDate":"%s","employeeId":%d,"departmentId":%d}"""
+                .formatted(pick(rnd, this.jobTitles), 50_000 + rnd.nextInt(100_000),
+                        LocalDate.of(2025, 1, 1).plusDays(rnd.nextInt(365)),
+                        pick(rnd, this.employeeIds), pick(rnd, this.departmentIds))));
+        endpoints.put("patch", rnd -> send("PATCH", "/employees/" + pick(rnd, this.employeeIds), """
+                {"dateOfBirth":"%s"}""".formatted(LocalDate.of(1970, 1, 1).plusDays(rnd.nextInt(10_000)))));
+        return endpoints;
+    }
+
+    // expands "a=3,b=1" into [a, a, a, b] so a uniform pick follows the weights
+    private static List<String> parseMix(Map<String, ?> endpoints) {
+        List<String> weighted = new ArrayList<>();
+        for (String entry : MIX.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (!endpoints.containsKey(parts[0])) {
+                throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + parts[0]);
+            }
+            for (int i = 0; i < Integer.parseInt(parts[1]); i++) {
+                weighted.add(parts[0]);
+            }
+        }
+        return weighted;
+    }
+
+    private Map<String, Recorder> run(List<String> weighted, Map<String, Function<Random, HttpRequest>> endpoints,
+            int seconds, Random rnd) throws InterruptedException {
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        endpoints.keySet().forEach(name -> recorders.put(name, new Recorder(RPS * seconds)));
+
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        long intervalNanos = 1_000_000_000L / RPS;
+        long total = (long) RPS * seconds;
+        long started = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intended = started + i * intervalNanos;
+            String name = weighted.get(rnd.nextInt(weighted.size()));
+            HttpRequest request = endpoints.get(name).apply(rnd);
+            Recorder recorder = recorders.get(name);
+
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            workers.execute(() -> call(request, recorder, intended));
+        }
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - started;
+
+        recorders.values().forEach(r -> r.elapsedNanos = elapsed);
+        return recorders;
+    }
+
+    private void call(HttpRequest request, Recorder recorder, long intended) {
+        try {
+            HttpResponse<Void> response = CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+            recorder.record(System.nanoTime() - intended, response.statusCode() / 100 == 2);
+        } catch (IOException e) {
+            recorder.record(System.nanoTime() - intended, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, Object> report(Map<String, Recorder> results) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rps", RPS);
+        report.put("seconds", SECONDS);
+        report.put("mix", MIX);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%-18s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        results.forEach((name, r) -> {
+            long[] sorted = r.sorted();
+            if (sorted.length == 0) {
+                return;
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", sorted.length);
+            stats.put("errors", r.errors.get());
+            stats.put("throughput", sorted.length / (r.elapsedNanos / 1e9));
+            stats.put("p50Ms", percentile(sorted, 50));
+            stats.put("p95Ms", percentile(sorted, 95));
+            stats.put("p99Ms", percentile(sorted, 99));
+            stats.put("maxMs", sorted[sorted.length - 1] / 1e6);
+            endpoints.put(name, stats);
+
+            System.out.printf("%-18s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, sorted.length,
+                    r.errors.get(), stats.get("throughput"), stats.get("p50Ms"), stats.get("p95Ms"),
+                    stats.get("p99Ms"), stats.get("maxMs"));
+        });
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    // nearest-rank percentile, in milliseconds
+    private static double percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1e6;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + this.port + path);
+    }
+
+    private static <T> T pick(Random rnd, List<T> values) {
+        return values.get(rnd.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static class Recorder {
+        private final long[] latencies;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private long elapsedNanos;
+
+        Recorder(int capacity) {
+            this.latencies = new long[capacity];
+        }
+
+        void record(long nanos, boolean ok) {
+            this.latencies[(int) this.count.getAndIncrement()] = nanos;
+            if (!ok) {
+                this.errors.incrementAndGet();
+            }
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(this.latencies, (int) this.count.get());
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.employee_creator.loadtest;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsBenchmarkTests extends RequestThreadingBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
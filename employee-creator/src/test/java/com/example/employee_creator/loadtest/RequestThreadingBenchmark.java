@@ -0,0 +1,108 @@
+package com.example.employee_creator.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Keeps {@code benchmark.concurrency} requests in flight against detail and
+ * department-search endpoints and reports throughput and latency. Subclasses
+ * pick the request threading mode; run both with {@code mvn test -Pbenchmark}
+ * on a Java 21+ JDK to compare them.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:threading;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "app.seeder.employees=${benchmark.employees:5000}",
+        "app.seeder.as-of=2025-01-01"
+})
+@ActiveProfiles({ "test", "dev" })
+@Tag("benchmark")
+abstract class RequestThreadingBenchmark {
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1_000);
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    abstract String mode();
+
+    @Test
+    void highConcurrency() throws Exception {
+        List<Long> ids = this.jdbc.queryForList("select id from employees order by id", Long.class);
+        run(ids, REQUESTS / 10);
+
+        long started = System.nanoTime();
+        Result result = run(ids, REQUESTS);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long[] sorted = result.latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%s threads, %d in flight: %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, %d errors%n",
+                mode(), CONCURRENCY, REQUESTS / seconds, percentile(sorted, 50), percentile(sorted, 99),
+                sorted[sorted.length - 1] / 1e6, result.errors.get());
+        assertThat(result.errors.get()).isZero();
+    }
+
+    private Result run(List<Long> ids, int requests) throws InterruptedException {
+        Result result = new Result(requests);
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            // half detail reads, half department searches, both several JDBC round trips deep
+            String path = i % 2 == 0
+                    ? "/employees/" + ids.get(i % ids.size())
+                    : "/employees?department=Sales&size=20&page=" + (1 + i % 20);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + this.port + path)).build();
+
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            this.client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                result.latencies[index] = System.nanoTime() - sent;
+                if (error != null || response.statusCode() != 200) {
+                    result.errors.incrementAndGet();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        return result;
+    }
+
+    private static double percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1e6;
+    }
+
+    private static class Result {
+        private final long[] latencies;
+        private final AtomicInteger errors = new AtomicInteger();
+
+        Result(int requests) {
+            this.latencies = new long[requests];
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.employee_creator.loadtest;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.TestPropertySource;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsBenchmarkTests extends RequestThreadingBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
@@ -3,14 +3,13 @@ import dotenv from 'dotenv';
 
 dotenv.config();
 
-console.log(process.env.DB_USER);
-console.log(process.env.DB_PASSWORD);
+// every tool only reads, so a read replica can take the load off the primary
 export const dbConfig = {
-  host: process.env.DB_HOST || 'localhost',
+  host: process.env.DB_READ_HOST || process.env.DB_HOST || 'localhost',
   user: process.env.DB_USER || 'root',
   password: process.env.DB_PASSWORD || '',
   database: process.env.DB_NAME || '',
-  port: parseInt(process.env.DB_PORT || '3306'),
+  port: parseInt(process.env.DB_READ_PORT || process.env.DB_PORT || '3306'),
 };
 
 let pool: mysql.Pool;
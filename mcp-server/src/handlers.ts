@@ -7,6 +7,9 @@ import {
   EnrichedEmployee,
   PaginatedEmployeeResponse,
   EmployeeSummary,
+  PromotionGap,
+  Promotion,
+  PromotionInterval,
 } from './types';
 
 export const handleGetGlossary = async (): Promise<MCPResponse> => {
@@ -116,19 +119,11 @@ export const handleRunQuery = async (query: string): Promise<MCPResponse> => {
 };
 
 export const handleGetHighestPaidEmployee = async (): Promise<MCPResponse> => {
-  const pool = getPool();
-
-  const query = `
-    SELECT e.id, e.first_name, e.last_name, e.date_of_birth, d.name, c.job_title, c.salary
-    FROM employees e
-    JOIN contracts c ON e.id = c.employee_id
-    JOIN departments d ON d.id = c.department_id
-    ORDER BY c.salary DESC
-    LIMIT 1
-  `;
-
-  const [rows] = await pool.query(query);
-  const result = (rows as any[])[0];
+  const res = await fetch('http://localhost:8080/employees/top-paid?limit=1');
+  if (!res.ok) {
+    throw new Error('Failed to fetch highest paid employee');
+  }
+  const result = ((await res.json()) as EnrichedEmployee[])[0];
 
   if (!result) {
     return {
@@ -143,11 +138,11 @@ export const handleGetHighestPaidEmployee = async (): Promise<MCPResponse> => {
 
   const resultText = `# Highest Paid Employee
 
-**Name**: ${result.first_name} ${result.last_name}
+**Name**: ${result.firstName} ${result.lastName}
 **Employee ID**: ${result.id}
-**Date of Birth**: ${result.date_of_birth}
-**Department**: ${result.name}
-**Job Title**: ${result.job_title}
+**Date of Birth**: ${result.dateOfBirth}
+**Department**: ${result.departmentName}
+**Job Title**: ${result.jobTitle}
 **Salary**: ${result.salary.toLocaleString()}`;
 
   return {
@@ -163,52 +158,13 @@ export const handleGetHighestPaidEmployee = async (): Promise<MCPResponse> => {
 export const handleGetEmployeesByPromotionGap = async (
   limit = 10
 ): Promise<MCPResponse> => {
-  const pool = getPool();
-
-  const query = `
-    WITH ordered_contracts AS (
-        SELECT
-            c.id,
-            c.employee_id,
-            c.salary,
-            c.start_date,
-            LAG(c.salary) OVER (PARTITION BY c.employee_id ORDER BY c.start_date) AS prev_salary,
-            LAG(c.start_date) OVER (PARTITION BY c.employee_id ORDER BY c.start_date) AS prev_start_date
-        FROM contracts c
-    ),
-    promotions AS (
-        SELECT
-            employee_id,
-            start_date AS promotion_date
-        FROM ordered_contracts
-        WHERE prev_salary IS NOT NULL
-          AND salary > prev_salary
-    ),
-    last_promotion AS (
-        SELECT
-            e.id AS employee_id,
-            COALESCE(MAX(p.promotion_date), MIN(c.start_date)) AS last_promotion_date
-        FROM employees e
-        JOIN contracts c ON c.employee_id = e.id
-        LEFT JOIN promotions p ON p.employee_id = e.id
-        GROUP BY e.id
-    )
-    SELECT
-        e.id,
-        e.first_name,
-        e.last_name,
-        DATEDIFF(CURDATE(), lp.last_promotion_date) AS days_since_promotion,
-        lp.last_promotion_date
-    FROM employees e
-    JOIN last_promotion lp ON lp.employee_id = e.id
-    ORDER BY days_since_promotion DESC
-    LIMIT ?
-  `;
-
-  const [rows] = await pool.query(query, [limit || 10]);
-  const results = rows as any[];
-
-  console.log(results);
+  const res = await fetch(
+    `http://localhost:8080/analytics/promotions/gaps?limit=${limit || 10}`
+  );
+  if (!res.ok) {
+    throw new Error('Failed to fetch promotion gaps');
+  }
+  const results = (await res.json()) as PromotionGap[];
 
   if (!results.length) {
     return { content: [{ type: 'text', text: 'No employees found.' }] };
@@ -219,10 +175,9 @@ export const handleGetEmployeesByPromotionGap = async (
   const tableRows = results
     .map(
       (r) =>
-        `| ${r.id} | ${r.first_name} ${r.last_name} | ${r.days_since_promotion} | ${r.last_promotion_date} |`
+        `| ${r.employeeId} | ${r.firstName} ${r.lastName} | ${r.daysSincePromotion} | ${r.lastPromotionDate} |`
     )
     .join('\n');
-  console.log(tableRows);
   return {
     content: [
       { type: 'text', text: `${header}\n\n${tableHeader}\n${tableRows}` },
@@ -233,39 +188,13 @@ export const handleGetEmployeesByPromotionGap = async (
 export const handleGetMostRecentPromotions = async (
   limit = 5
 ): Promise<MCPResponse> => {
-  const pool = getPool();
-
-  const query = `
-    WITH ordered_contracts AS (
-        SELECT
-            c.id,
-            c.employee_id,
-            c.salary,
-            c.start_date,
-            LAG(c.salary) OVER (PARTITION BY c.employee_id ORDER BY c.start_date) AS prev_salary
-        FROM contracts c
-    ),
-    promotions AS (
-        SELECT
-            employee_id,
-            start_date AS promotion_date
-        FROM ordered_contracts
-        WHERE prev_salary IS NOT NULL
-          AND salary > prev_salary
-    )
-    SELECT
-        e.id,
-        e.first_name,
-        e.last_name,
-        p.promotion_date
-    FROM employees e
-    JOIN promotions p ON p.employee_id = e.id
-    ORDER BY p.promotion_date DESC
-    LIMIT ?
-  `;
-
-  const [rows] = await pool.query(query, [limit || 5]);
-  const results = rows as any[];
+  const res = await fetch(
+    `http://localhost:8080/analytics/promotions/recent?limit=${limit || 5}`
+  );
+  if (!res.ok) {
+    throw new Error('Failed to fetch recent promotions');
+  }
+  const results = (await res.json()) as Promotion[];
 
   if (!results.length) {
     return { content: [{ type: 'text', text: 'No promotions found.' }] };
@@ -274,9 +203,8 @@ export const handleGetMostRecentPromotions = async (
   const header = `# Most Recent Promotions`;
   const tableHeader = `| Employee | Promotion Date |\n|----------|----------------|`;
   const tableRows = results
-    .map((r) => `| ${r.first_name} ${r.last_name} | ${r.promotion_date} |`)
+    .map((r) => `| ${r.firstName} ${r.lastName} | ${r.promotionDate} |`)
     .join('\n');
-  console.log(tableRows);
   return {
     content: [
       { type: 'text', text: `${header}\n\n${tableHeader}\n${tableRows}` },
@@ -286,30 +214,15 @@ export const handleGetMostRecentPromotions = async (
 
 export const handleGetAveragePromotionInterval =
   async (): Promise<MCPResponse> => {
-    const pool = getPool();
-
-    const query = `
-    WITH ordered_contracts AS (
-        SELECT
-            c.employee_id,
-            c.salary,
-            c.start_date,
-            LAG(c.salary) OVER (PARTITION BY c.employee_id ORDER BY c.start_date) AS prev_salary,
-            LAG(c.start_date) OVER (PARTITION BY c.employee_id ORDER BY c.start_date) AS prev_start_date
-        FROM contracts c
-    )
-    SELECT
-      AVG(DATEDIFF(start_date, prev_start_date)) AS avg_days_between_promotions
-    FROM ordered_contracts
-    WHERE prev_salary IS NOT NULL
-      AND salary > prev_salary
-      AND prev_start_date IS NOT NULL
-  `;
-
-    const [rows] = await pool.query(query);
-    const result = (rows as any[])[0];
-
-    if (!result || result.avg_days_between_promotions === null) {
+    const res = await fetch(
+      'http://localhost:8080/analytics/promotions/average-interval'
+    );
+    if (!res.ok) {
+      throw new Error('Failed to fetch average promotion interval');
+    }
+    const result = (await res.json()) as PromotionInterval;
+
+    if (result.averageDays === null) {
       return {
         content: [{ type: 'text', text: 'No promotion history found.' }],
       };
@@ -320,7 +233,7 @@ export const handleGetAveragePromotionInterval =
         {
           type: 'text',
           text: `# Average Promotion Interval\n\n**${Math.round(
-            result.avg_days_between_promotions
+            result.averageDays
           )} days**`,
         },
       ],
@@ -71,3 +71,25 @@ export interface PaginatedEmployeeResponse {
   previousPage: number | null;
   data: EmployeeSummary[];
 }
+
+export interface PromotionGap {
+  employeeId: number;
+  firstName: string;
+  lastName: string;
+  lastPromotionDate: string;
+  daysSincePromotion: number;
+}
+
+export interface Promotion {
+  employeeId: number;
+  firstName: string;
+  lastName: string;
+  promotionDate: string;
+  previousSalary: number;
+  salary: number;
+}
+
+export interface PromotionInterval {
+  averageDays: number | null;
+  promotions: number;
+}